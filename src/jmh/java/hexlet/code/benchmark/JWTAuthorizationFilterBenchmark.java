@@ -0,0 +1,60 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.JWTHelper;
+import hexlet.code.filter.JWTAuthorizationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JWTAuthorizationFilterBenchmark {
+
+    private JWTAuthorizationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        final JWTHelper jwtHelper = new JWTHelper("task-manager", 86400L, 300L, "secret", 10000L);
+        filter = new JWTAuthorizationFilter(new AntPathRequestMatcher("/api/login"), jwtHelper);
+        authorization = "Bearer " + jwtHelper.expiring(Map.of(
+                SPRING_SECURITY_FORM_USERNAME_KEY, "ivan@mail.com",
+                "userId", 1L
+        ));
+    }
+
+    @Benchmark
+    public void authorize(final Blackhole blackhole) throws ServletException, IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(AUTHORIZATION, authorization);
+        final FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext()
+                .getAuthentication());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        SecurityContextHolder.clearContext();
+    }
+}
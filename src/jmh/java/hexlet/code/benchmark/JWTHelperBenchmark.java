@@ -0,0 +1,58 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.JWTHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JWTHelperBenchmark {
+
+    private static final Map<String, Object> CLAIMS = Map.of(
+            SPRING_SECURITY_FORM_USERNAME_KEY, "ivan@mail.com",
+            "userId", 1L
+    );
+
+    private JWTHelper cachingHelper;
+    private JWTHelper parsingHelper;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingHelper = new JWTHelper("task-manager", 86400L, 300L, "secret", 10000L);
+        parsingHelper = new JWTHelper("task-manager", 86400L, 300L, "secret", 0L);
+        token = cachingHelper.expiring(CLAIMS);
+    }
+
+    @Benchmark
+    public String expiring() {
+        return cachingHelper.expiring(CLAIMS);
+    }
+
+    @Benchmark
+    public Map<String, Object> verifyCached() {
+        return cachingHelper.verify(token);
+    }
+
+    @Benchmark
+    public Map<String, Object> verifyParsed() {
+        return parsingHelper.verify(token);
+    }
+}
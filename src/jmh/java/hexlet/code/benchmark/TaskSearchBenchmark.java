@@ -0,0 +1,148 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.component.TaskSearchIndex;
+import hexlet.code.component.TaskSearchIndex.SearchResult;
+import hexlet.code.dto.TaskSearchPageDto;
+import hexlet.code.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 5000;
+    private static final int NAME_WORDS = 3;
+    private static final int DESCRIPTION_WORDS = 20;
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH = 10_000;
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ru", "ta", "vi", "zo", "be", "du", "fa", "gi", "ho", "ju", "pe", "so"
+    };
+
+    @Param({"100000", "1000000"})
+    private int tasks;
+
+    // a frequent word, a rare word and two words that must both match
+    @Param({"0", "4000", "0 1"})
+    private String words;
+
+    private ConfigurableApplicationContext context;
+    private TaskSearchIndex taskSearchIndex;
+    private TaskService taskService;
+    private JdbcTemplate jdbcTemplate;
+    private String query;
+    private String likeWhere;
+    private Object[] likeArgs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .run("--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        taskSearchIndex = context.getBean(TaskSearchIndex.class);
+        taskService = context.getBean(TaskService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed();
+        taskSearchIndex.rebuild();
+
+        final List<String> terms = Arrays.stream(words.split(" "))
+                .map(index -> word(Integer.parseInt(index)))
+                .toList();
+        query = String.join(" ", terms);
+        likeWhere = " from tasks t left join task_descriptions d on d.task_id = t.id where " + terms.stream()
+                .map(term -> "(lower(t.name) like ? or lower(d.description) like ?)")
+                .collect(Collectors.joining(" and "));
+        likeArgs = terms.stream()
+                .flatMap(term -> Collections.nCopies(2, "%" + term + "%").stream())
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SearchResult searchIndex() {
+        return taskSearchIndex.search(query, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TaskSearchPageDto searchTasks() {
+        return taskService.searchTasks(query, 0, PAGE_SIZE);
+    }
+
+    // a scan cannot rank, so it only finds the first page and the total like the search endpoint does
+    @Benchmark
+    public SearchResult likeScan() {
+        final List<Long> ids = jdbcTemplate.queryForList(
+                "select t.id" + likeWhere + " order by t.id limit " + PAGE_SIZE, Long.class, likeArgs);
+        final Integer total = jdbcTemplate.queryForObject("select count(*)" + likeWhere, Integer.class, likeArgs);
+        return new SearchResult(ids, total == null ? 0 : total);
+    }
+
+    // word frequencies are skewed like in natural text, word 0 is the most frequent
+    private void seed() {
+        final Random random = new Random(42);
+        final Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("insert into task_statuses (id, name, created_at, version) values (1, 'New', ?, 0)", now);
+        jdbcTemplate.update("insert into users (id, email, first_name, last_name, password, created_at, version)"
+                + " values (1, 'user1@mail.com', 'First', 'Last', 'password', ?, 0)", now);
+        for (int from = 1; from <= tasks; from += SEED_BATCH) {
+            final List<Integer> ids = IntStream.range(from, Math.min(from + SEED_BATCH, tasks + 1)).boxed().toList();
+            jdbcTemplate.batchUpdate(
+                    "insert into tasks (id, name, task_status_id, author_id, created_at, version)"
+                            + " values (?, ?, 1, 1, ?, 0)",
+                    ids.stream().map(i -> new Object[] {i, text(random, NAME_WORDS), now}).toList());
+            jdbcTemplate.batchUpdate(
+                    "insert into task_descriptions (task_id, description) values (?, ?)",
+                    ids.stream().map(i -> new Object[] {i, text(random, DESCRIPTION_WORDS)}).toList());
+        }
+        jdbcTemplate.execute("alter sequence tasks_seq restart with " + (tasks + 50));
+    }
+
+    private static String text(final Random random, final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> word((int) (VOCABULARY * Math.pow(random.nextDouble(), 3))))
+                .collect(Collectors.joining(" "));
+    }
+
+    private static String word(final int index) {
+        final StringBuilder word = new StringBuilder();
+        int rest = index;
+        do {
+            word.append(SYLLABLES[rest % SYLLABLES.length]);
+            rest /= SYLLABLES.length;
+        } while (rest > 0);
+        return word.append("n").toString();
+    }
+}
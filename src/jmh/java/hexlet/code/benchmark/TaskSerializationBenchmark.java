@@ -0,0 +1,155 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.ReferenceDto;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.dto.UserReferenceDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<TaskSummaryDto> summaries;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        final User author = new User(1, "ivan@mail.com", "Ivan", "Petrov", "password", new Date(), new Date(), 0);
+        final User executor = new User(2, "petr@mail.com", "Petr", "Ivanov", "password", new Date(), new Date(), 0);
+        final TaskStatus taskStatus = new TaskStatus(1, "In progress", new Date(), new Date(), 0);
+        final List<Label> labels = IntStream.rangeClosed(1, 3)
+                .mapToObj(i -> new Label(i, "Label " + i, new Date(), new Date(), 0, null))
+                .toList();
+        tasks = IntStream.rangeClosed(1, size)
+                .mapToObj(i -> {
+                    final Task task = new Task();
+                    task.setId(i);
+                    task.setName("Task " + i);
+                    task.setDescription("Description of task " + i);
+                    task.setTaskStatus(taskStatus);
+                    task.setAuthor(author);
+                    task.setExecutor(executor);
+                    task.setCreatedAt(new Date());
+                    task.setUpdatedAt(new Date());
+                    task.setLabels(new LinkedHashSet<>(labels));
+                    return task;
+                })
+                .toList();
+        summaries = tasks.stream()
+                .map(task -> new TaskSummaryDto(
+                        task.getId(),
+                        task.getName(),
+                        new ReferenceDto(taskStatus.getId(), taskStatus.getName()),
+                        new UserReferenceDto(author.getId(), author.getFirstName(), author.getLastName()),
+                        new UserReferenceDto(executor.getId(), executor.getFirstName(), executor.getLastName()),
+                        task.getCreatedAt(),
+                        labels.stream().map(label -> new ReferenceDto(label.getId(), label.getName())).toList(),
+                        null
+                ))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeTasks(final BodySize bodySize) throws JsonProcessingException {
+        return bodySize.of(objectMapper.writeValueAsBytes(tasks));
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries(final BodySize bodySize) throws JsonProcessingException {
+        return bodySize.of(objectMapper.writeValueAsBytes(summaries));
+    }
+
+    @Benchmark
+    public byte[] serializeCompressedSummaries(final BodySize bodySize,
+                                               final CompressedBodySize compressedBodySize) throws IOException {
+        return compressedBodySize.of(gzip(bodySize.of(objectMapper.writeValueAsBytes(summaries))));
+    }
+
+    // bytes on the wire are the same for every call, so each iteration reports the size of one body,
+    // results.json keeps them in rawData next to the timings and the score sums the measured iterations
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BodySize {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+
+        private byte[] of(final byte[] body) {
+            bytes = body.length;
+            return body;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CompressedBodySize {
+
+        public long gzipBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            gzipBytes = 0;
+        }
+
+        private byte[] of(final byte[] body) {
+            gzipBytes = body.length;
+            return body;
+        }
+    }
+
+    private static byte[] gzip(final byte[] bytes) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,142 @@
+package hexlet.code.benchmark;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.AppApplication;
+import hexlet.code.config.security.AuthenticatedUser;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.model.Task;
+import hexlet.code.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
+import static hexlet.code.model.QTask.task;
+
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    private static final int STATUSES = 10;
+    private static final int USERS = 100;
+    private static final int LABELS = 20;
+    private static final int SEED_BATCH = 10_000;
+    private static final int DESCRIPTION_LENGTH = 200;
+
+    @Param({"10000", "100000", "1000000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Predicate byStatus;
+    private TaskDto taskDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .run("--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        final AuthenticatedUser user = new AuthenticatedUser(1L, "user1@mail.com", "", DEFAULT_AUTHORITIES);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, DEFAULT_AUTHORITIES));
+
+        byStatus = task.taskStatus.id.eq(1L);
+        taskDto = new TaskDto("Benchmark task", "Description", 1L, 2L, List.of(1L, 2L));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(taskDto);
+    }
+
+    @Benchmark
+    public List<TaskSummaryDto> getTasksByStatus() {
+        return taskService.getTasks(byStatus);
+    }
+
+    @Benchmark
+    public List<TaskSummaryDto> getTasksPage() {
+        return taskService.getTasksPage(byStatus, null, 100).getContent();
+    }
+
+    private void seed(final JdbcTemplate jdbcTemplate) {
+        final Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(
+                "insert into task_statuses (id, name, created_at, version) values (?, ?, ?, 0)",
+                IntStream.rangeClosed(1, STATUSES).mapToObj(i -> new Object[] {i, "Status " + i, now}).toList());
+        jdbcTemplate.batchUpdate(
+                "insert into users (id, email, first_name, last_name, password, created_at, version)"
+                        + " values (?, ?, ?, ?, ?, ?, 0)",
+                IntStream.rangeClosed(1, USERS)
+                        .mapToObj(i -> new Object[] {i, "user" + i + "@mail.com", "First", "Last", "password", now})
+                        .toList());
+        jdbcTemplate.batchUpdate(
+                "insert into labels (id, name, created_at, version) values (?, ?, ?, 0)",
+                IntStream.rangeClosed(1, LABELS).mapToObj(i -> new Object[] {i, "Label " + i, now}).toList());
+        for (int from = 1; from <= tasks; from += SEED_BATCH) {
+            final List<Integer> ids = IntStream.range(from, Math.min(from + SEED_BATCH, tasks + 1)).boxed().toList();
+            jdbcTemplate.batchUpdate(
+                    "insert into tasks (id, name, task_status_id, author_id, executor_id, created_at, version)"
+                            + " values (?, ?, ?, ?, ?, ?, 0)",
+                    ids.stream()
+                            .map(i -> new Object[] {
+                                i, "Task " + i, i % STATUSES + 1, i % USERS + 1, (i + 1) % USERS + 1, now
+                            })
+                            .toList());
+            jdbcTemplate.batchUpdate(
+                    "insert into task_descriptions (task_id, description) values (?, ?)",
+                    ids.stream().map(i -> new Object[] {i, description(i)}).toList());
+            // Task maps the task id to tasks_labels.label_id and the label id to tasks_labels.task_id
+            jdbcTemplate.batchUpdate(
+                    "insert into tasks_labels (label_id, task_id) values (?, ?)",
+                    ids.stream().map(i -> new Object[] {i, i % LABELS + 1}).toList());
+        }
+        restartSequence(jdbcTemplate, "task_statuses_seq", STATUSES);
+        restartSequence(jdbcTemplate, "users_seq", USERS);
+        restartSequence(jdbcTemplate, "labels_seq", LABELS);
+        restartSequence(jdbcTemplate, "tasks_seq", tasks);
+    }
+
+    private static String description(final int id) {
+        return ("Description of task " + id + ". ").repeat(DESCRIPTION_LENGTH / 20).substring(0, DESCRIPTION_LENGTH);
+    }
+
+    private static void restartSequence(final JdbcTemplate jdbcTemplate, final String sequence, final int maxId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 50));
+    }
+}
@@ -0,0 +1,240 @@
+package hexlet.code.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.AppApplication;
+import hexlet.code.config.security.AuthenticatedUser;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.LoginDto;
+import hexlet.code.dto.TaskBatchResultDto;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.dto.UserDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.service.LabelService;
+import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskStatusService;
+import hexlet.code.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
+import static hexlet.code.service.TaskService.MAX_BATCH_SIZE;
+
+public final class LoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int STATUSES = Integer.getInteger("load.statuses", 10);
+    private static final int LABELS = Integer.getInteger("load.labels", 20);
+    private static final int TASKS = Integer.getInteger("load.tasks", 10_000);
+    private static final int TASKS_PER_USER = Integer.getInteger("load.tasks-per-user", 10);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    private static final int WARMUP_SEC = Integer.getInteger("load.warmup-sec", 10);
+    private static final int DURATION_SEC = Integer.getInteger("load.duration-sec", 60);
+
+    private static final String PASSWORD = "password";
+    private static final String JSON = "application/json";
+    private static final int PAGE_SIZE = 100;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> statusIds = new ArrayList<>();
+    private final List<Long> labelIds = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+    private final List<List<Long>> ownedTaskIds = new ArrayList<>();
+    private final LatencyReport report = new LatencyReport();
+
+    private LoadTest(final HttpClient client, final ObjectMapper objectMapper, final String baseUrl) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final String[] arguments = Stream.concat(
+                Stream.of("--server.port=0", "--spring.main.banner-mode=off", "--logging.level.root=WARN"),
+                Arrays.stream(args)
+        ).toArray(String[]::new);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AppApplication.class)
+                .run(arguments);
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+            final String baseUrl = "http://localhost:"
+                    + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("base-url");
+            final LoadTest loadTest = new LoadTest(client, context.getBean(ObjectMapper.class), baseUrl);
+            loadTest.seed(context);
+            loadTest.run();
+        }
+    }
+
+    private void seed(final ConfigurableApplicationContext context) {
+        final long start = System.nanoTime();
+        final UserService userService = context.getBean(UserService.class);
+        final TaskStatusService taskStatusService = context.getBean(TaskStatusService.class);
+        final LabelService labelService = context.getBean(LabelService.class);
+        final TaskService taskService = context.getBean(TaskService.class);
+
+        IntStream.range(0, USERS)
+                .mapToObj(i -> userService.createUser(new UserDto(email(i), "First" + i, "Last" + i, PASSWORD)))
+                .map(User::getId)
+                .forEach(userIds::add);
+        IntStream.range(0, STATUSES)
+                .mapToObj(i -> taskStatusService.createTaskStatus(new TaskStatusDto("Status " + i)))
+                .map(TaskStatus::getId)
+                .forEach(statusIds::add);
+        IntStream.range(0, LABELS)
+                .mapToObj(i -> labelService.createLabel(new LabelDto("Label " + i)))
+                .map(Label::getId)
+                .forEach(labelIds::add);
+
+        taskIds.addAll(createTasks(taskService, 0, TASKS));
+        // every virtual user updates only its own tasks, so that the ownership check passes
+        IntStream.range(0, USERS)
+                .mapToObj(i -> createTasks(taskService, i, TASKS_PER_USER))
+                .forEach(ownedTaskIds::add);
+        System.out.printf("Seeded %d users, %d statuses, %d labels and %d tasks in %d ms%n",
+                USERS, STATUSES, LABELS, TASKS + USERS * TASKS_PER_USER,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private List<Long> createTasks(final TaskService taskService, final int user, final int count) {
+        final AuthenticatedUser author = new AuthenticatedUser(userIds.get(user), email(user), "", DEFAULT_AUTHORITIES);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(author, null, DEFAULT_AUTHORITIES));
+        try {
+            final List<Long> ids = new ArrayList<>(count);
+            for (int from = 0; from < count; from += MAX_BATCH_SIZE) {
+                taskService.createTasks(IntStream.range(from, Math.min(from + MAX_BATCH_SIZE, count))
+                                .mapToObj(this::randomTask)
+                                .toList())
+                        .stream()
+                        .map(TaskBatchResultDto::getId)
+                        .forEach(ids::add);
+            }
+            return ids;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        final long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SEC);
+        final long end = warmupEnd + TimeUnit.SECONDS.toNanos(DURATION_SEC);
+        System.out.printf("Running %d virtual users for %d s after %d s of warm-up against %s%n",
+                CONCURRENCY, DURATION_SEC, WARMUP_SEC, baseUrl);
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, CONCURRENCY).forEach(i -> users.submit(() -> simulateUser(i % USERS, end)));
+            TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+            report.reset();
+        }
+        report.print(System.out, DURATION_SEC);
+    }
+
+    private void simulateUser(final int user, final long end) {
+        String token = login(user);
+        while (System.nanoTime() < end) {
+            final int roll = ThreadLocalRandom.current().nextInt(100);
+            if (roll < 30) {
+                send("GET /api/tasks/page", get("/tasks/page?size=" + PAGE_SIZE + "&taskStatus=" + random(statusIds)),
+                        token);
+            } else if (roll < 55) {
+                send("GET /api/tasks/{id}", get("/tasks/" + random(taskIds)), token);
+            } else if (roll < 65) {
+                send("GET /api/users", get("/users"), token);
+            } else if (roll < 75) {
+                send("GET /api/labels", get("/labels"), token);
+            } else if (roll < 88) {
+                send("POST /api/tasks", post("/tasks", randomTask(0)), token);
+            } else if (roll < 98) {
+                send("PUT /api/tasks/{id}", put("/tasks/" + random(ownedTaskIds.get(user)), randomTask(user)), token);
+            } else {
+                token = login(user);
+            }
+        }
+    }
+
+    private String login(final int user) {
+        final HttpResponse<String> response = send("POST /api/login",
+                post("/login", new LoginDto(email(user), PASSWORD)), null);
+        return response == null ? null : response.body().trim();
+    }
+
+    private HttpResponse<String> send(final String endpoint, final HttpRequest.Builder request, final String token) {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        final long start = System.nanoTime();
+        try {
+            final HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            report.record(endpoint, start, response.statusCode() < 400);
+            return response;
+        } catch (IOException e) {
+            report.record(endpoint, start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder get(final String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(final String path, final Object body) {
+        return withBody("POST", path, body);
+    }
+
+    private HttpRequest.Builder put(final String path, final Object body) {
+        return withBody("PUT", path, body);
+    }
+
+    private HttpRequest.Builder withBody(final String method, final String path, final Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", JSON)
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private TaskDto randomTask(final int i) {
+        return new TaskDto("Task " + i, "Description " + i, random(statusIds), random(userIds),
+                List.of(random(labelIds)));
+    }
+
+    private static long random(final List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static String email(final int user) {
+        return "user" + user + "@mail.com";
+    }
+}
@@ -0,0 +1,38 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.OutboxEventDto;
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+@AllArgsConstructor
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void send(final List<OutboxEventDto> events) {
+        try {
+            final List<String> lines = new ArrayList<>(events.size());
+            for (OutboxEventDto event : events) {
+                lines.add(objectMapper.writeValueAsString(event));
+            }
+            Files.write(file, lines, CREATE, APPEND);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append task events to " + file, e);
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package hexlet.code.component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Clock;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.impl.DefaultClock;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -16,21 +28,42 @@ import static io.jsonwebtoken.impl.TextCodec.BASE64;
 
 @Component
 public class JWTHelper {
+    private static final long UNEXPIRING_TOKEN_TTL_SEC = 600;
+
     private final String secretKey;
     private final String issuer;
     private final Long expirationSec;
     private final Long clockSkewSec;
     private final Clock clock;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
+    @Autowired
     public JWTHelper(@Value("${jwt.issuer:task-manager}") final String issuer,
                      @Value("${jwt.expiration-sec:86400}") final Long expirationSec,
                      @Value("${jwt.clock-skew-sec:300}") final Long clockSkewSec,
-                     @Value("${jwt.secret:secret}") final String secret) {
+                     @Value("${jwt.secret:secret}") final String secret,
+                     @Value("${jwt.cache-size:10000}") final Long cacheSize) {
+        this(issuer, expirationSec, clockSkewSec, secret, cacheSize, DefaultClock.INSTANCE, Ticker.systemTicker());
+    }
+
+    // the clock decides whether a token has expired and the ticker when its cache entry does, tests move both
+    JWTHelper(final String issuer,
+              final Long expirationSec,
+              final Long clockSkewSec,
+              final String secret,
+              final Long cacheSize,
+              final Clock clock,
+              final Ticker ticker) {
         this.secretKey = BASE64.encode(secret);
         this.issuer = issuer;
         this.expirationSec = expirationSec;
         this.clockSkewSec = clockSkewSec;
-        this.clock = DefaultClock.INSTANCE;
+        this.clock = clock;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .ticker(ticker)
+                .expireAfter(new VerifiedTokenExpiry())
+                .build();
     }
 
     public String expiring(final Map<String, Object> attributes) {
@@ -41,6 +74,20 @@ public class JWTHelper {
     }
 
     public Map<String, Object> verify(final String token) {
+        final String digest = digest(token);
+        final VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.claims();
+        }
+        final Claims claims = parse(token);
+        // every caller gets the same instance, so none of them may change it
+        final VerifiedToken verified = new VerifiedToken(
+                Collections.unmodifiableMap(new LinkedHashMap<>(claims)), claims.getExpiration());
+        verifiedTokens.put(digest, verified);
+        return verified.claims();
+    }
+
+    private Claims parse(final String token) {
         return Jwts.parser()
                 .requireIssuer(issuer)
                 .setClock(clock)
@@ -50,14 +97,51 @@ public class JWTHelper {
                 .getBody();
     }
 
+    private static String digest(final String token) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Claims getClaims(final Map<String, Object> attributes, final Long expiresInSec) {
         final Claims claims = Jwts.claims();
         claims.setIssuer(issuer);
         claims.setIssuedAt(clock.now());
         claims.putAll(attributes);
         if (expiresInSec > 0) {
-            claims.setExpiration(new Date(System.currentTimeMillis() + expiresInSec * 1000));
+            claims.setExpiration(new Date(clock.now().getTime() + expiresInSec * 1000));
         }
         return claims;
     }
+
+    private record VerifiedToken(Map<String, Object> claims, Date expiration) {
+    }
+
+    private final class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(final String digest, final VerifiedToken token, final long currentTime) {
+            final Date expiration = token.expiration();
+            if (expiration == null) {
+                return TimeUnit.SECONDS.toNanos(UNEXPIRING_TOKEN_TTL_SEC);
+            }
+            final long validForMillis = expiration.getTime() + clockSkewSec * 1000 - clock.now().getTime();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(validForMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String digest, final VerifiedToken token, final long currentTime,
+                                      final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final String digest, final VerifiedToken token, final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
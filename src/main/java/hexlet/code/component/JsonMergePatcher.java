@@ -0,0 +1,52 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import hexlet.code.exception.BadRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+@Component
+@AllArgsConstructor
+public class JsonMergePatcher {
+
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public <T> T apply(final T target, final JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+        // only declared properties can be validated one by one, so unknown ones are refused before that
+        try {
+            objectMapper.readerForUpdating(target)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(patch);
+        } catch (UnrecognizedPropertyException e) {
+            throw new BadRequestException("Unknown field '" + e.getPropertyName() + "', expected some of "
+                    + e.getKnownPropertyIds(), e);
+        } catch (IOException e) {
+            throw new BadRequestException("Malformed merge patch: " + e.getMessage(), e);
+        }
+        final Set<ConstraintViolation<T>> violations = new HashSet<>();
+        for (Iterator<String> fields = patch.fieldNames(); fields.hasNext();) {
+            violations.addAll(validator.validateProperty(target, fields.next()));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return target;
+    }
+}
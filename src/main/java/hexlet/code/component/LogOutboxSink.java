@@ -0,0 +1,18 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.OutboxEventDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+public class LogOutboxSink implements OutboxSink {
+
+    @Override
+    public void send(final List<OutboxEventDto> events) {
+        for (OutboxEventDto event : events) {
+            log.info("Task {} {} (event {}): {}",
+                    event.getAggregateId(), event.getType(), event.getId(), event.getPayload());
+        }
+    }
+}
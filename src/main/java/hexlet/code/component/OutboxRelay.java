@@ -0,0 +1,85 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.OutboxEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final TaskOutbox taskOutbox;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Timer lag;
+    private final Counter relayed;
+    private final AtomicLong oldestAge = new AtomicLong();
+
+    public OutboxRelay(final TaskOutbox taskOutbox, final OutboxSink outboxSink,
+                       final PlatformTransactionManager transactionManager, final MeterRegistry meterRegistry,
+                       @Value("${outbox.batch-size:100}") final int batchSize) {
+        this.taskOutbox = taskOutbox;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lag = Timer.builder("outbox.lag")
+                .description("Time from the task change commit to its hand-over to the sink")
+                .register(meterRegistry);
+        this.relayed = Counter.builder("outbox.relayed")
+                .description("Task events handed over to the sink")
+                .register(meterRegistry);
+        Gauge.builder("outbox.oldest.age", oldestAge, AtomicLong::get)
+                .description("Age of the oldest task event still in the outbox at the last poll")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("Could not relay task events, will retry on the next poll", e);
+        }
+    }
+
+    public int relay() {
+        int total = 0;
+        int sent;
+        do {
+            sent = transactionTemplate.execute(status -> relayBatch());
+            total += sent;
+        } while (sent == batchSize);
+        return total;
+    }
+
+    // rows are deleted in the same transaction only after the sink accepted them, so delivery is at least once
+    private int relayBatch() {
+        final List<OutboxEventDto> events = taskOutbox.findBatch(batchSize);
+        final long now = System.currentTimeMillis();
+        oldestAge.set(events.isEmpty() ? 0 : now - events.get(0).getCreatedAt().getTime());
+        if (events.isEmpty()) {
+            return 0;
+        }
+        outboxSink.send(events);
+        taskOutbox.delete(events);
+        events.forEach(event -> lag.record(now - event.getCreatedAt().getTime(), MILLISECONDS));
+        relayed.increment(events.size());
+        return events.size();
+    }
+}
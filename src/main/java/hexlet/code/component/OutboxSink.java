@@ -0,0 +1,10 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.OutboxEventDto;
+
+import java.util.List;
+
+public interface OutboxSink {
+
+    void send(List<OutboxEventDto> events);
+}
@@ -0,0 +1,24 @@
+package hexlet.code.component;
+
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class OwnershipChecker {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+
+    public boolean isTaskAuthor(final long taskId, final String email) {
+        return taskRepository.findAuthorEmailById(taskId).orElseThrow().equals(email);
+    }
+
+    public boolean isUser(final long userId, final String email) {
+        return userRepository.findEmailById(userId).orElseThrow().equals(email);
+    }
+}
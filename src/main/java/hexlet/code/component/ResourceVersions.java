@@ -0,0 +1,125 @@
+package hexlet.code.component;
+
+import hexlet.code.config.BinaryFormatsConfig;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.PreconditionFailedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        TASKS, LABELS, TASK_STATUSES, USERS
+    }
+
+    private static final Pattern IF_MATCH_VERSION = Pattern.compile("(?:W/)?\"?(\\d+)(?:-[^\"]*)?\"?");
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final String instance = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<Resource, AtomicLong> versions = new EnumMap<>(Resource.class);
+
+    public ResourceVersions() {
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new AtomicLong());
+        }
+    }
+
+    public void increment(final Resource resource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versions.get(resource).incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.get(resource).incrementAndGet();
+            }
+        });
+    }
+
+    public boolean checkNotModified(final WebRequest request, final Resource... resources) {
+        allowRevalidation(request);
+        return request.checkNotModified(tag(request, dependencies(resources)));
+    }
+
+    public EntityTag entityTag(final Resource... dependencies) {
+        return new EntityTag(dependencies(dependencies));
+    }
+
+    public static Long expectedVersion(final String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        final Matcher matcher = IF_MATCH_VERSION.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new BadRequestException("If-Match must be an entity tag or version, got " + ifMatch);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    public static void checkVersion(final Class<?> type, final long id, final long version,
+                                    final Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != version) {
+            throw new PreconditionFailedException(type, id, version, expectedVersion);
+        }
+    }
+
+    // otherwise Spring Security sends no-store and clients never come back with If-None-Match
+    private static void allowRevalidation(final WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+    }
+
+    private String dependencies(final Resource... resources) {
+        final StringJoiner dependencies = new StringJoiner("-").add(instance);
+        for (Resource resource : resources) {
+            dependencies.add(Long.toString(versions.get(resource).get()));
+        }
+        return dependencies.toString();
+    }
+
+    // JSON, CBOR and Smile bodies of the same version differ, so each of them gets its own tag
+    private static String tag(final WebRequest request, final String version) {
+        final String representation = BinaryFormatsConfig.negotiate(request.getHeader(HttpHeaders.ACCEPT)).getSubtype();
+        return "\"" + version + "-" + representation + "\"";
+    }
+
+    private static boolean isConditional(final WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    public record EntityTag(String dependencies) {
+
+        public boolean checkNotModified(final WebRequest request, final Supplier<Optional<Long>> version) {
+            allowRevalidation(request);
+            return isConditional(request) && version.get()
+                    .map(value -> request.checkNotModified(tag(request, value + "-" + dependencies)))
+                    .orElse(false);
+        }
+
+        public void addTo(final WebRequest request, final long version, final Date updatedAt) {
+            if (!isConditional(request)) {
+                request.checkNotModified(tag(request, version + "-" + dependencies),
+                        updatedAt == null ? -1 : updatedAt.getTime());
+            }
+        }
+    }
+}
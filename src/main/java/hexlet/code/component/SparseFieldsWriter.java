@@ -0,0 +1,113 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import hexlet.code.config.BinaryFormatsConfig;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
+
+@Component
+public class SparseFieldsWriter {
+
+    public static final String FIELDS = "fields";
+
+    private static final String FILTER = "sparseFields";
+
+    private final Map<MediaType, ObjectMapper> objectMappers = new LinkedHashMap<>();
+
+    // keyed by the representations that BinaryFormatsConfig.negotiate picks from
+    public SparseFieldsWriter(final MappingJackson2HttpMessageConverter jsonConverter,
+                              final MappingJackson2CborHttpMessageConverter cborConverter,
+                              final MappingJackson2SmileHttpMessageConverter smileConverter) {
+        for (AbstractJackson2HttpMessageConverter converter : List.of(jsonConverter, cborConverter, smileConverter)) {
+            objectMappers.put(converter.getSupportedMediaTypes().get(0), withFilter(converter.getObjectMapper()));
+        }
+    }
+
+    public static Set<String> parse(final String fields, final Collection<String> allowed) {
+        final Set<String> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            final String name = field.trim();
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "', expected some of " + allowed);
+            }
+            parsed.add(name);
+        }
+        return parsed;
+    }
+
+    public <T> void write(final WebRequest request, final HttpServletResponse response, final Class<T> type,
+                          final Consumer<Consumer<T>> source) throws IOException {
+        write(request, response, type, SimpleBeanPropertyFilter.serializeAll(), source);
+    }
+
+    public <T> void write(final WebRequest request, final HttpServletResponse response, final Class<T> type,
+                          final Set<String> fields, final Consumer<Consumer<T>> source) throws IOException {
+        write(request, response, type, SimpleBeanPropertyFilter.filterOutAllExcept(fields), source);
+    }
+
+    private <T> void write(final WebRequest request, final HttpServletResponse response, final Class<T> type,
+                           final PropertyFilter filter, final Consumer<Consumer<T>> source) throws IOException {
+        final MediaType mediaType = BinaryFormatsConfig.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        final ObjectMapper objectMapper = objectMappers.get(mediaType);
+        final ObjectWriter writer = objectMapper.writerFor(type)
+                .with(new SimpleFilterProvider().addFilter(FILTER, filter))
+                .without(FLUSH_AFTER_WRITE_VALUE);
+        response.setContentType(mediaType.toString());
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            source.accept(value -> write(writer, generator, value));
+            generator.writeEndArray();
+        }
+    }
+
+    // only the listed types are filtered, the references nested in them are always written whole
+    private static ObjectMapper withFilter(final ObjectMapper objectMapper) {
+        return objectMapper.copy()
+                .addMixIn(TaskSummaryDto.class, Filtered.class)
+                .addMixIn(User.class, Filtered.class)
+                .addMixIn(Label.class, Filtered.class)
+                .addMixIn(TaskStatus.class, Filtered.class);
+    }
+
+    private static void write(final ObjectWriter writer, final JsonGenerator generator, final Object value) {
+        try {
+            writer.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @JsonFilter(FILTER)
+    private abstract static class Filtered {
+    }
+}
@@ -0,0 +1,71 @@
+package hexlet.code.component;
+
+import com.querydsl.core.BooleanBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmUp {
+
+    private final List<HikariDataSource> dataSources;
+    private final TaskRepository taskRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final LabelRepository labelRepository;
+    private final UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() throws SQLException {
+        final long start = System.nanoTime();
+        int connections = 0;
+        for (HikariDataSource dataSource : dataSources) {
+            connections += warmUpPool(dataSource);
+        }
+        warmUpQueries();
+        log.info("Warmed up {} connections and query plans in {} ms",
+                connections, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // a pool that has not started yet reports -1, Hikari then keeps as many idle connections as the maximum
+    private static int warmUpPool(final HikariDataSource dataSource) throws SQLException {
+        final int minimumIdle = dataSource.getMinimumIdle();
+        final int size = minimumIdle < 0 ? dataSource.getMaximumPoolSize() : minimumIdle;
+        final List<Connection> connections = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        return connections.size();
+    }
+
+    private void warmUpQueries() {
+        taskRepository.findSummariesAfter(new BooleanBuilder(), 0, 1);
+        taskRepository.findWithDescriptionById(0);
+        taskRepository.findAuthorEmailById(0);
+        userRepository.findEmailById(0);
+        userRepository.findByEmail("");
+        taskStatusRepository.findAll();
+        labelRepository.findAll();
+    }
+}
@@ -0,0 +1,109 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.TaskEventDto;
+import hexlet.code.dto.TaskEventDto.Type;
+import hexlet.code.dto.TaskEventFilterDto;
+import hexlet.code.dto.TaskSummaryDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+@Slf4j
+@Component
+public class TaskEventBroadcaster {
+
+    public static final int BUFFER_SIZE = 256;
+    public static final Duration TIMEOUT = Duration.ofMinutes(30);
+    public static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    private static final TaskEventDto RESYNC = new TaskEventDto(Type.RESYNC, 0, null, null);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public SseEmitter subscribe(final TaskEventFilterDto filter) {
+        final SseEmitter emitter = new SseEmitter(TIMEOUT.toMillis());
+        final Subscriber subscriber = new Subscriber(emitter, filter);
+        subscribers.add(subscriber);
+        // an idle subscriber is a virtual thread parked on its queue, not a pooled platform thread
+        final Thread sender = Thread.ofVirtual().name("task-events").start(() -> send(subscriber));
+        final Runnable unsubscribe = () -> {
+            subscribers.remove(subscriber);
+            sender.interrupt();
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        emitter.onTimeout(emitter::complete);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void broadcast(final TaskEventDto event) {
+        for (Subscriber subscriber : subscribers) {
+            if (matches(subscriber.filter, event.getTask()) || matches(subscriber.filter, event.getPrevious())) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private void send(final Subscriber subscriber) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final TaskEventDto event = subscriber.queue.poll(HEARTBEAT.toMillis(), MILLISECONDS);
+                subscriber.emitter.send(event == null
+                        ? SseEmitter.event().comment("heartbeat")
+                        : SseEmitter.event().name(event.getType().name().toLowerCase()).data(event, APPLICATION_JSON));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Task event subscriber disconnected: {}", e.getMessage());
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private static boolean matches(final TaskEventFilterDto filter, final TaskSummaryDto task) {
+        return task != null
+                && (filter.getTaskStatus() == null || filter.getTaskStatus() == task.getTaskStatus().getId())
+                && (filter.getExecutorId() == null
+                    || task.getExecutor() != null && filter.getExecutorId() == task.getExecutor().getId())
+                && (filter.getAuthorId() == null
+                    || task.getAuthor() != null && filter.getAuthorId() == task.getAuthor().getId())
+                && (filter.getLabelsId() == null
+                    || task.getLabels().stream().anyMatch(label -> filter.getLabelsId() == label.getId()));
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final TaskEventFilterDto filter;
+        private final BlockingQueue<TaskEventDto> queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+
+        private Subscriber(final SseEmitter emitter, final TaskEventFilterDto filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        // a client that cannot keep up loses the backlog and is told to reload the list instead
+        private synchronized void offer(final TaskEventDto event) {
+            if (!queue.offer(event)) {
+                queue.clear();
+                queue.offer(RESYNC);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.OutboxEventDto;
+import hexlet.code.dto.TaskEventDto;
+import lombok.AllArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@AllArgsConstructor
+public class TaskOutbox {
+
+    private static final String INSERT = """
+            INSERT INTO task_outbox (aggregate_id, type, payload, created_at) VALUES (?, ?, ?, ?)
+            """;
+    private static final String SELECT_BATCH = """
+            SELECT id, aggregate_id, type, payload, created_at FROM task_outbox ORDER BY id LIMIT ?
+            """;
+    private static final String DELETE = "DELETE FROM task_outbox WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // collected per transaction and inserted in one batch right before the task changes are committed
+    @EventListener
+    public void add(final TaskEventDto event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<TaskEventDto> pending = (List<TaskEventDto>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            final List<TaskEventDto> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(final boolean readOnly) {
+                    write(events);
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskOutbox.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    public List<OutboxEventDto> findBatch(final int size) {
+        return jdbcTemplate.query(SELECT_BATCH, (resultSet, row) -> new OutboxEventDto(
+                resultSet.getLong("id"),
+                resultSet.getLong("aggregate_id"),
+                resultSet.getString("type"),
+                resultSet.getString("payload"),
+                resultSet.getTimestamp("created_at")
+        ), size);
+    }
+
+    public void delete(final List<OutboxEventDto> events) {
+        jdbcTemplate.batchUpdate(DELETE, events.stream()
+                .map(event -> new Object[] {event.getId()})
+                .toList());
+    }
+
+    private void write(final List<TaskEventDto> events) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT, events.stream()
+                .map(event -> new Object[] {event.getId(), event.getType().name(), toJson(event), now})
+                .toList());
+    }
+
+    private String toJson(final TaskEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package hexlet.code.component;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    public static final int NAME_WEIGHT = 3;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String SELECT_TASKS = "SELECT t.id, t.name, d.description FROM tasks t"
+            + " LEFT JOIN task_descriptions d ON d.task_id = t.id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private Index index = new Index();
+    private Map<Long, Document> changedDuringRebuild;
+
+    public TaskSearchIndex(final DataSource dataSource, final PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public record SearchResult(List<Long> ids, int total) {
+    }
+
+    private record Document(String name, String description) {
+    }
+
+    public void put(final long id, final String name, final String description) {
+        afterCommit(() -> apply(id, new Document(name, description)));
+    }
+
+    public void remove(final long id) {
+        afterCommit(() -> apply(id, null));
+    }
+
+    public SearchResult search(final String query, final int offset, final int limit) {
+        final Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            return index.search(terms, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // searches keep using the old index while the new one is read from the database
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        final long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        final Index rebuilt = new Index();
+        boolean read = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_TASKS,
+                    (RowCallbackHandler) row -> rebuilt.put(row.getLong(1), row.getString(2), row.getString(3))));
+            read = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // a partly read index would lose tasks, the old one already has the changes made meanwhile
+                if (read) {
+                    changedDuringRebuild.forEach(rebuilt::apply);
+                    index = rebuilt;
+                }
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Indexed {} tasks for search in {} ms",
+                rebuilt.terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static List<String> tokenize(final String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private void apply(final long id, final Document document) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, document);
+            }
+            index.apply(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Index {
+
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Long, String[]> terms = new HashMap<>();
+
+        private void apply(final long id, final Document document) {
+            if (document == null) {
+                remove(id);
+            } else {
+                put(id, document.name(), document.description());
+            }
+        }
+
+        private void put(final long id, final String name, final String description) {
+            remove(id);
+            final Map<String, Integer> weights = new HashMap<>();
+            tokenize(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+            tokenize(description).forEach(term -> weights.merge(term, 1, Integer::sum));
+            if (weights.isEmpty()) {
+                return;
+            }
+            final String[] documentTerms = new String[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+                final Postings termPostings = postings.computeIfAbsent(weight.getKey(), Postings::new);
+                termPostings.put(id, weight.getValue());
+                documentTerms[i++] = termPostings.term;
+            }
+            terms.put(id, documentTerms);
+        }
+
+        private void remove(final long id) {
+            final String[] documentTerms = terms.remove(id);
+            if (documentTerms == null) {
+                return;
+            }
+            for (String term : documentTerms) {
+                final Postings termPostings = postings.get(term);
+                termPostings.remove(id);
+                if (termPostings.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        // tf-idf with name matches weighted higher, only tasks that contain every query term match
+        private SearchResult search(final Set<String> queryTerms, final int offset, final int limit) {
+            final List<Postings> matches = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                final Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    return new SearchResult(List.of(), 0);
+                }
+                matches.add(termPostings);
+            }
+            if (matches.isEmpty()) {
+                return new SearchResult(List.of(), 0);
+            }
+            matches.sort(Comparator.comparingInt(termPostings -> termPostings.size));
+            final double[] idf = new double[matches.size()];
+            for (int i = 0; i < idf.length; i++) {
+                idf[i] = Math.log(1 + (double) terms.size() / matches.get(i).size);
+            }
+
+            final int top = offset + limit;
+            final PriorityQueue<ScoredTask> best = new PriorityQueue<>(Comparator
+                    .comparingDouble(ScoredTask::score)
+                    .thenComparingLong(ScoredTask::id));
+            final Postings shortest = matches.get(0);
+            int total = 0;
+            for (int i = 0; i < shortest.size; i++) {
+                final long id = shortest.ids[i];
+                double score = shortest.weights[i] * idf[0];
+                for (int j = 1; j < matches.size() && score > 0; j++) {
+                    final int weight = matches.get(j).weight(id);
+                    score = weight == 0 ? 0 : score + weight * idf[j];
+                }
+                if (score > 0) {
+                    total++;
+                    if (best.size() < top) {
+                        best.add(new ScoredTask(id, score));
+                    } else if (top > 0 && score >= best.peek().score()) {
+                        best.poll();
+                        best.add(new ScoredTask(id, score));
+                    }
+                }
+            }
+            final List<Long> ids = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                ids.add(best.poll().id());
+            }
+            Collections.reverse(ids);
+            return new SearchResult(ids.subList(Math.min(offset, ids.size()), ids.size()), total);
+        }
+    }
+
+    private record ScoredTask(long id, double score) {
+    }
+
+    // ids are kept sorted, new tasks get the highest ids and are appended
+    private static final class Postings {
+
+        private final String term;
+        private long[] ids = new long[2];
+        private int[] weights = new int[2];
+        private int size;
+
+        private Postings(final String term) {
+            this.term = term;
+        }
+
+        private void put(final long id, final int weight) {
+            int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            index = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(weights, index, weights, index + 1, size - index);
+            ids[index] = id;
+            weights[index] = weight;
+            size++;
+        }
+
+        private void remove(final long id) {
+            final int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+        }
+
+        private int weight(final long id) {
+            final int index = Arrays.binarySearch(ids, 0, size, id);
+            return index < 0 ? 0 : weights[index];
+        }
+    }
+}
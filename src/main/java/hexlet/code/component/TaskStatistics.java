@@ -0,0 +1,168 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.CountDto;
+import hexlet.code.dto.ReferenceDto;
+import hexlet.code.dto.TaskEventDto;
+import hexlet.code.dto.TaskStatsDto;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class TaskStatistics {
+
+    public static final long NO_EXECUTOR = 0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private Counters counters = new Counters();
+    private Queue<TaskEventDto> changedDuringReconcile;
+
+    // read-write so that the counts come from the primary the events are committed to, not from a replica,
+    // and repeatable read so that the three counts come from the same snapshot
+    public TaskStatistics(final TaskRepository taskRepository, final PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public TaskStatsDto getStats() {
+        lock.readLock().lock();
+        try {
+            return new TaskStatsDto(
+                    counters.total.get(),
+                    new TreeMap<>(counters.taskStatuses),
+                    new TreeMap<>(counters.executors),
+                    new TreeMap<>(counters.labels));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void update(final TaskEventDto event) {
+        lock.readLock().lock();
+        try {
+            if (changedDuringReconcile != null) {
+                changedDuringReconcile.add(event);
+            }
+            counters.apply(event);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Changes committed while the counts are read are replayed on top of them. Only a change committed between
+    // the start of the recording and the snapshot of the first count is counted twice, the next run corrects it.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${stats.reconcile-interval-ms:600000}",
+            fixedDelayString = "${stats.reconcile-interval-ms:600000}")
+    public synchronized void reconcile() {
+        lock.writeLock().lock();
+        try {
+            changedDuringReconcile = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Counters actual = null;
+        try {
+            actual = transactionTemplate.execute(status -> new Counters(
+                    taskRepository.countByTaskStatus(),
+                    taskRepository.countByExecutor(),
+                    taskRepository.countByLabel()));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (actual != null) {
+                    changedDuringReconcile.forEach(actual::apply);
+                    if (!counters.equals(actual)) {
+                        log.warn("Task statistics drifted from the database, {} tasks counted, {} stored",
+                                actual.total, counters.total);
+                    }
+                    counters = actual;
+                }
+                changedDuringReconcile = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static final class Counters {
+
+        private final AtomicLong total = new AtomicLong();
+        private final Map<Long, Long> taskStatuses = new ConcurrentHashMap<>();
+        private final Map<Long, Long> executors = new ConcurrentHashMap<>();
+        private final Map<Long, Long> labels = new ConcurrentHashMap<>();
+
+        private Counters() {
+        }
+
+        private Counters(final List<CountDto> byTaskStatus, final List<CountDto> byExecutor,
+                         final List<CountDto> byLabel) {
+            byTaskStatus.forEach(count -> {
+                total.addAndGet(count.getCount());
+                taskStatuses.put(count.getId(), count.getCount());
+            });
+            byExecutor.forEach(count -> executors.put(count.getId(), count.getCount()));
+            byLabel.forEach(count -> labels.put(count.getId(), count.getCount()));
+        }
+
+        // the summary before the change is taken away and the summary after it is added
+        private void apply(final TaskEventDto event) {
+            add(event.getPrevious(), -1);
+            add(event.getTask(), 1);
+        }
+
+        private void add(final TaskSummaryDto task, final long delta) {
+            if (task == null) {
+                return;
+            }
+            total.addAndGet(delta);
+            add(taskStatuses, task.getTaskStatus().getId(), delta);
+            add(executors, task.getExecutor() == null ? NO_EXECUTOR : task.getExecutor().getId(), delta);
+            for (ReferenceDto label : task.getLabels()) {
+                add(labels, label.getId(), delta);
+            }
+        }
+
+        // a count that drops to zero is removed so the maps only hold what is in use
+        private static void add(final Map<Long, Long> counts, final long id, final long delta) {
+            counts.merge(id, delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Counters that
+                    && total.get() == that.total.get()
+                    && taskStatuses.equals(that.taskStatuses)
+                    && executors.equals(that.executors)
+                    && labels.equals(that.labels);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(total.get());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package hexlet.code.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASK_STATUSES = "taskStatuses";
+    public static final String LABELS = "labels";
+    public static final String USERS = "users";
+    public static final String ALL = "'all'";
+
+    private static final long USERS_CACHE_SIZE = 10_000;
+
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.caffeine.spec}") final String spec,
+                                     @Value("${users.cache-ttl-sec:60}") final long usersTtlSec) {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASK_STATUSES, LABELS);
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        // authors of task writes, short lived because a user deleted on another instance stays here until it expires
+        cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(USERS_CACHE_SIZE)
+                .expireAfterWrite(Duration.ofSeconds(usersTtlSec))
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,31 @@
+package hexlet.code.config;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class CompressionProperties {
+
+    public static final int DISABLED = -1;
+
+    private boolean enabled = true;
+
+    private int minResponseSize = 2048;
+
+    // ant patterns of request paths mapped to their own threshold, the first matching pattern wins
+    private Map<String, Integer> endpoints = new LinkedHashMap<>();
+
+    private List<String> mimeTypes = List.of(
+            "application/json",
+            "application/*+json",
+            "application/cbor",
+            "application/x-jackson-smile",
+            "text/html",
+            "text/plain",
+            "text/css",
+            "application/javascript"
+    );
+}
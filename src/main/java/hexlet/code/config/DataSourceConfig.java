@@ -0,0 +1,89 @@
+package hexlet.code.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class DataSourceConfig {
+
+    public static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+    public static final String REPLICA_MAXIMUM_POOL_SIZE = "spring.datasource.replica.hikari.maximum-pool-size";
+    public static final String REPLICA_URL = "spring.datasource.replica.url";
+    public static final String REPLICA_DATA_SOURCE = "replicaDataSource";
+    public static final Duration DEFAULT_MAX_LAG = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_CHECK_INTERVAL = Duration.ofSeconds(5);
+
+    // each pool keeps the size configured under its own prefix
+    @Bean
+    public static BeanPostProcessor hikariPoolSizePostProcessor(final Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+                final String property = REPLICA_DATA_SOURCE.equals(beanName)
+                        ? REPLICA_MAXIMUM_POOL_SIZE
+                        : MAXIMUM_POOL_SIZE;
+                if (bean instanceof HikariDataSource dataSource
+                        && !Binder.get(environment).bind(property, Integer.class).isBound()) {
+                    dataSource.setMaximumPoolSize(defaultPoolSize(Runtime.getRuntime().availableProcessors()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(final DataSourceProperties properties, final Environment environment) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getProperty(REPLICA_URL))
+                .username(environment.getProperty("spring.datasource.replica.username",
+                        properties.determineUsername()))
+                .password(environment.getProperty("spring.datasource.replica.password",
+                        properties.determinePassword()))
+                .build();
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(REPLICA_URL)
+    public DataSource dataSource(@Qualifier("primaryDataSource") final DataSource primary,
+                                 @Qualifier(REPLICA_DATA_SOURCE) final DataSource replica,
+                                 final Environment environment) {
+        final Binder binder = Binder.get(environment);
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+                primary,
+                replica,
+                binder.bind("spring.datasource.replica.max-lag", Duration.class).orElse(DEFAULT_MAX_LAG),
+                binder.bind("spring.datasource.replica.lag-query", String.class).orElse(null),
+                binder.bind("spring.datasource.replica.check-interval", Duration.class)
+                        .orElse(DEFAULT_CHECK_INTERVAL)
+        ));
+    }
+
+    public static int defaultPoolSize(final int cores) {
+        return cores * 2 + 1;
+    }
+}
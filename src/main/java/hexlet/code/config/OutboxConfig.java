@@ -0,0 +1,34 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.FileOutboxSink;
+import hexlet.code.component.LogOutboxSink;
+import hexlet.code.component.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    public static final String OUTBOX_FILE = "outbox.file";
+
+    @Bean
+    @ConditionalOnProperty(OUTBOX_FILE)
+    public OutboxSink fileOutboxSink(@Value("${" + OUTBOX_FILE + "}") final Path file,
+                                     final ObjectMapper objectMapper) {
+        return new FileOutboxSink(file, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink logOutboxSink() {
+        return new LogOutboxSink();
+    }
+}
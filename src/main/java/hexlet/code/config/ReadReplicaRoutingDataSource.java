@@ -0,0 +1,86 @@
+package hexlet.code.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final long checkIntervalNanos;
+    private final AtomicLong nextLagCheck = new AtomicLong(System.nanoTime());
+    private volatile long suspendedUntil = System.nanoTime();
+
+    public ReadReplicaRoutingDataSource(final DataSource primary, final DataSource replica, final Duration maxLag,
+                                        final String lagQuery, final Duration checkInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || System.nanoTime() - suspendedUntil < 0) {
+            return primary.getConnection();
+        }
+        Connection connection = null;
+        try {
+            connection = replica.getConnection();
+            if (isLagging(connection)) {
+                connection.close();
+                return primary.getConnection();
+            }
+            return connection;
+        } catch (SQLException e) {
+            if (connection != null) {
+                connection.close();
+            }
+            suspend("Read replica is unavailable: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private boolean isLagging(final Connection connection) throws SQLException {
+        final long now = System.nanoTime();
+        final long next = nextLagCheck.get();
+        if (lagQuery == null || lagQuery.isBlank() || now - next < 0
+                || !nextLagCheck.compareAndSet(next, now + checkIntervalNanos)) {
+            return false;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            final double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+            if (lagSeconds * 1000 > maxLag.toMillis()) {
+                suspend("Read replica lags " + lagSeconds + " s behind the primary");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void suspend(final String reason) {
+        suspendedUntil = System.nanoTime() + checkIntervalNanos;
+        log.warn("{}, routing reads to the primary for {} ms", reason, checkIntervalNanos / 1_000_000);
+    }
+}
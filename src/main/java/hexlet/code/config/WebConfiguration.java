@@ -2,13 +2,20 @@ package hexlet.code.config;
 
 import java.io.IOException;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.resource.PathResourceResolver;
 
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.VARY;
+
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
 
@@ -18,6 +25,20 @@ public class WebConfiguration implements WebMvcConfigurer {
         this.baseApiPath = baseApiPath;
     }
 
+    // API bodies are JSON, CBOR or Smile depending on Accept, caches must not hand one of them to another client
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry
+                .addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        response.addHeader(VARY, ACCEPT);
+                        return true;
+                    }
+                })
+                .addPathPatterns(baseApiPath + "/**");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry
@@ -20,6 +20,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
@@ -31,6 +32,7 @@ import java.util.List;
 import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 
 @Configuration
 @EnableWebSecurity
@@ -38,6 +40,7 @@ import static org.springframework.http.HttpMethod.POST;
 public class SecurityConfig {
 
     public static final String LOGIN = "/login";
+    public static final String ACTUATOR = "/actuator";
     public static final List<GrantedAuthority> DEFAULT_AUTHORITIES = List.of(new SimpleGrantedAuthority("USER"));
 
     private final UserDetailsService userDetailsService;
@@ -57,7 +60,12 @@ public class SecurityConfig {
                 loginRequest,
                 new AntPathRequestMatcher(baseUrl + USER_CONTROLLER_PATH, POST.toString()),
                 new AntPathRequestMatcher(baseUrl + USER_CONTROLLER_PATH, GET.toString()),
-                new NegatedRequestMatcher(new AntPathRequestMatcher(baseUrl + "/**"))
+                new AntPathRequestMatcher(ACTUATOR + "/health/**", GET.toString()),
+                // metrics describe the database, caches and outbox, so only signed in users may read them
+                new NegatedRequestMatcher(new OrRequestMatcher(
+                        new AntPathRequestMatcher(baseUrl + "/**"),
+                        new AntPathRequestMatcher(ACTUATOR + "/**")
+                ))
         );
     }
 
@@ -87,6 +95,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers(publicUrls).permitAll()
                 .anyRequest().authenticated())
+                .exceptionHandling(exceptions -> exceptions.defaultAuthenticationEntryPointFor(
+                        new HttpStatusEntryPoint(UNAUTHORIZED),
+                        new AntPathRequestMatcher(ACTUATOR + "/**")
+                ))
                 .addFilter(new JWTAuthenticationFilter(
                         authenticationManager(http.getSharedObject(AuthenticationConfiguration.class)),
                         loginRequest,
@@ -1,7 +1,13 @@
 package hexlet.code.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.databind.JsonNode;
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.EntityTag;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.SparseFieldsWriter;
 import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
 import hexlet.code.service.LabelService;
@@ -11,17 +17,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
+import static hexlet.code.component.JsonMergePatcher.MERGE_PATCH_JSON_VALUE;
+import static hexlet.code.component.ResourceVersions.expectedVersion;
+import static hexlet.code.component.SparseFieldsWriter.FIELDS;
+import static hexlet.code.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
 import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @AllArgsConstructor
 @RestController
@@ -29,26 +48,60 @@ import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
 public class LabelController {
     public static final String LABEL_CONTROLLER_PATH = "/labels";
     public static final String ID = "/{id}";
+    public static final Set<String> LABEL_FIELDS = Set.of("id", "name", "createdAt", "updatedAt", "version");
 
     private final LabelService labelService;
+    private final ResourceVersions resourceVersions;
+    private final SparseFieldsWriter sparseFieldsWriter;
 
     @Operation(summary = "Get specific label by id")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Label found"),
+        @ApiResponse(responseCode = "304", description = "Label not modified"),
         @ApiResponse(responseCode = "404", description = "Label not found")
     })
     @GetMapping(path = ID)
-    public Label getLabel(@PathVariable final long id) {
-        return labelService.getLabelById(id);
+    public Label getLabel(@PathVariable final long id, final WebRequest request) {
+        final EntityTag tag = resourceVersions.entityTag();
+        if (tag.checkNotModified(request, () -> labelService.getLabelVersion(id))) {
+            return null;
+        }
+        final Label label = labelService.getLabelById(id);
+        tag.addTo(request, label.getVersion(), label.getUpdatedAt());
+        return label;
     }
 
     @Operation(summary = "Get list of all labels")
-    @ApiResponse(responseCode = "200", description = "List of all labels")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of all labels"),
+        @ApiResponse(responseCode = "304", description = "Labels not modified")
+    })
     @GetMapping
-    public List<Label> getAllLabels() {
+    public List<Label> getAllLabels(final WebRequest request) {
+        if (resourceVersions.checkNotModified(request, Resource.LABELS)) {
+            return null;
+        }
         return labelService.getLabels();
     }
 
+    @Operation(summary = "Get only the given comma separated fields of all labels")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of all labels with the given fields"),
+        @ApiResponse(responseCode = "304", description = "Labels not modified"),
+        @ApiResponse(responseCode = "400", description = "Unknown field")
+    })
+    @GetMapping(params = FIELDS, produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public void getAllLabelFields(@RequestParam final String fields,
+                                  final WebRequest request,
+                                  final HttpServletResponse response) throws IOException {
+        final Set<String> selected = SparseFieldsWriter.parse(fields, LABEL_FIELDS);
+        if (resourceVersions.checkNotModified(request, Resource.LABELS)) {
+            return;
+        }
+        // the cached list is already in memory, so the fields are only dropped from the output
+        sparseFieldsWriter.write(request, response, Label.class, selected, labelService.getLabels()::forEach);
+    }
+
     @Operation(summary = "Create new label")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Label created"),
@@ -70,6 +123,20 @@ public class LabelController {
         return labelService.updateLabel(id, labelDto);
     }
 
+    @Operation(summary = "Update only the given fields of a label with a JSON merge patch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Label updated"),
+        @ApiResponse(responseCode = "404", description = "Label not found"),
+        @ApiResponse(responseCode = "409", description = "Label was changed concurrently"),
+        @ApiResponse(responseCode = "412", description = "Label was changed since the If-Match version"),
+        @ApiResponse(responseCode = "422", description = "Patched label is invalid")
+    })
+    @PatchMapping(path = ID, consumes = {MERGE_PATCH_JSON_VALUE, APPLICATION_JSON_VALUE})
+    public Label patchLabel(@PathVariable final long id, @RequestBody final JsonNode patch,
+                            @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return labelService.patchLabel(id, patch, expectedVersion(ifMatch));
+    }
+
     @Operation(summary = "Delete label by id")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Label deleted"),
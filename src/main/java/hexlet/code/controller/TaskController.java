@@ -1,9 +1,11 @@
 package hexlet.code.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.querydsl.core.types.Predicate;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
@@ -11,19 +13,49 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.EntityTag;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.SparseFieldsWriter;
+import hexlet.code.component.TaskEventBroadcaster;
+import hexlet.code.component.TaskStatistics;
+import hexlet.code.dto.TaskBatchResultDto;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskEventFilterDto;
+import hexlet.code.dto.TaskPageDto;
+import hexlet.code.dto.TaskSearchPageDto;
+import hexlet.code.dto.TaskStatsDto;
+import hexlet.code.dto.TaskSummaryDto;
 import hexlet.code.model.Task;
 import hexlet.code.service.TaskService;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static hexlet.code.component.JsonMergePatcher.MERGE_PATCH_JSON_VALUE;
+import static hexlet.code.component.ResourceVersions.expectedVersion;
+import static hexlet.code.component.SparseFieldsWriter.FIELDS;
+import static hexlet.code.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
 import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
+import static hexlet.code.repository.TaskRepositoryCustomImpl.SELECTABLE_FIELDS;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 
 @AllArgsConstructor
@@ -32,30 +64,127 @@ import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
 public class TaskController {
     public static final String TASK_CONTROLLER_PATH = "/tasks";
     public static final String ID = "/{id}";
+    public static final String PAGE = "/page";
+    public static final String STREAM = "/stream";
+    public static final String BATCH = "/batch";
+    public static final String EVENTS = "/events";
+    public static final String SEARCH = "/search";
+    public static final String STATS = "/stats";
+
+    private static final Resource[] TASK_REFERENCES = {Resource.LABELS, Resource.TASK_STATUSES, Resource.USERS};
+    private static final Resource[] TASKS_WITH_REFERENCES =
+        {Resource.TASKS, Resource.LABELS, Resource.TASK_STATUSES, Resource.USERS};
 
     private static final String ONLY_OWNER_BY_ID = """
-            @taskRepository.findById(#id).get().getAuthor().getEmail() == authentication.getName()
+            @ownershipChecker.isTaskAuthor(#id, authentication.getName())
         """;
 
     private final TaskService taskService;
+    private final ResourceVersions resourceVersions;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final TaskStatistics taskStatistics;
+    private final SparseFieldsWriter sparseFieldsWriter;
 
     @Operation(summary = "Get specific task by id")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task found"),
+        @ApiResponse(responseCode = "304", description = "Task not modified"),
         @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @GetMapping(path = ID)
-    public Task getTask(@PathVariable final long id) {
-        return taskService.getTaskById(id);
+    public Task getTask(@PathVariable final long id, final WebRequest request) {
+        final EntityTag tag = resourceVersions.entityTag(TASK_REFERENCES);
+        if (tag.checkNotModified(request, () -> taskService.getTaskVersion(id))) {
+            return null;
+        }
+        final Task task = taskService.getTaskById(id);
+        tag.addTo(request, task.getVersion(), task.getUpdatedAt());
+        return task;
     }
 
     @Operation(summary = "Get list of all tasks")
-    @ApiResponse(responseCode = "200", description = "List of all tasks")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of all tasks"),
+        @ApiResponse(responseCode = "304", description = "Tasks not modified")
+    })
     @GetMapping
-    public Iterable<Task> getAllTasks(@QuerydslPredicate(root = Task.class) Predicate predicate) {
+    public List<TaskSummaryDto> getAllTasks(@QuerydslPredicate(root = Task.class) Predicate predicate,
+                                            final WebRequest request) {
+        if (resourceVersions.checkNotModified(request, TASKS_WITH_REFERENCES)) {
+            return null;
+        }
         return taskService.getTasks(predicate);
     }
 
+    @Operation(summary = "Get only the given comma separated fields of all tasks")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of all tasks with the given fields"),
+        @ApiResponse(responseCode = "304", description = "Tasks not modified"),
+        @ApiResponse(responseCode = "400", description = "Unknown field")
+    })
+    @GetMapping(params = FIELDS, produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public void getAllTaskFields(@QuerydslPredicate(root = Task.class) Predicate predicate,
+                                 @RequestParam final String fields,
+                                 final WebRequest request,
+                                 final HttpServletResponse response) throws IOException {
+        final Set<String> selected = SparseFieldsWriter.parse(fields, SELECTABLE_FIELDS);
+        if (resourceVersions.checkNotModified(request, TASKS_WITH_REFERENCES)) {
+            return;
+        }
+        sparseFieldsWriter.write(request, response, TaskSummaryDto.class, selected,
+                consumer -> taskService.streamTasks(predicate, selected, consumer));
+    }
+
+    @Operation(summary = "Get page of tasks after the given cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of tasks with cursor of the next page"),
+        @ApiResponse(responseCode = "304", description = "Page not modified"),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    })
+    @GetMapping(path = PAGE)
+    public TaskPageDto getTasksPage(@QuerydslPredicate(root = Task.class) Predicate predicate,
+                                    @RequestParam(required = false) final String cursor,
+                                    @RequestParam(defaultValue = "100") final int size,
+                                    final WebRequest request) {
+        if (resourceVersions.checkNotModified(request, TASKS_WITH_REFERENCES)) {
+            return null;
+        }
+        return taskService.getTasksPage(predicate, cursor, size);
+    }
+
+    @Operation(summary = "Find tasks by words in their name or description, best matches first")
+    @ApiResponse(responseCode = "200", description = "Page of matching tasks with the total number of matches")
+    @GetMapping(path = SEARCH)
+    public TaskSearchPageDto searchTasks(@RequestParam final String q,
+                                         @RequestParam(defaultValue = "0") final int page,
+                                         @RequestParam(defaultValue = "20") final int size) {
+        return taskService.searchTasks(q, page, size);
+    }
+
+    @Operation(summary = "Get number of tasks per status, executor and label")
+    @ApiResponse(responseCode = "200", description = "Task counts, tasks without executor are counted under 0")
+    @GetMapping(path = STATS)
+    public TaskStatsDto getTaskStats() {
+        return taskStatistics.getStats();
+    }
+
+    @Operation(summary = "Stream list of all tasks as they are read from the database")
+    @ApiResponse(responseCode = "200", description = "List of all tasks")
+    @GetMapping(path = STREAM, produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public void streamAllTasks(@QuerydslPredicate(root = Task.class) Predicate predicate,
+                               final WebRequest request,
+                               final HttpServletResponse response) throws IOException {
+        sparseFieldsWriter.write(request, response, TaskSummaryDto.class,
+                consumer -> taskService.streamTasks(predicate, consumer));
+    }
+
+    @Operation(summary = "Subscribe to server-sent events about tasks matching the filter")
+    @ApiResponse(responseCode = "200", description = "Stream of created, updated, deleted and resync events")
+    @GetMapping(path = EVENTS, produces = TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(final TaskEventFilterDto filter) {
+        return taskEventBroadcaster.subscribe(filter);
+    }
+
     @Operation(summary = "Create new task")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Task created"),
@@ -67,15 +196,43 @@ public class TaskController {
         return taskService.createTask(taskDto);
     }
 
+    @Operation(summary = "Create several tasks in one transaction")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Result of every task in the batch"),
+        @ApiResponse(responseCode = "400", description = "Batch is too large")
+    })
+    @PostMapping(path = BATCH)
+    public List<TaskBatchResultDto> createTasks(@RequestBody final List<TaskDto> taskDtos) {
+        return taskService.createTasks(taskDtos);
+    }
+
     @Operation(summary = "Update task by id")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task updated"),
-        @ApiResponse(responseCode = "404", description = "Task not found")
+        @ApiResponse(responseCode = "404", description = "Task not found"),
+        @ApiResponse(responseCode = "409", description = "Task was changed concurrently"),
+        @ApiResponse(responseCode = "412", description = "Task was changed since the If-Match version")
     })
     @PutMapping(path = ID)
     @PreAuthorize(ONLY_OWNER_BY_ID)
-    public Task updateTask(@PathVariable final long id, @RequestBody @Valid final TaskDto taskDto) {
-        return taskService.updateTask(id, taskDto);
+    public Task updateTask(@PathVariable final long id, @RequestBody @Valid final TaskDto taskDto,
+                           @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return taskService.updateTask(id, taskDto, expectedVersion(ifMatch));
+    }
+
+    @Operation(summary = "Update only the given fields of a task with a JSON merge patch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task updated"),
+        @ApiResponse(responseCode = "404", description = "Task not found"),
+        @ApiResponse(responseCode = "409", description = "Task was changed concurrently"),
+        @ApiResponse(responseCode = "412", description = "Task was changed since the If-Match version"),
+        @ApiResponse(responseCode = "422", description = "Patched task is invalid")
+    })
+    @PatchMapping(path = ID, consumes = {MERGE_PATCH_JSON_VALUE, APPLICATION_JSON_VALUE})
+    @PreAuthorize(ONLY_OWNER_BY_ID)
+    public Task patchTask(@PathVariable final long id, @RequestBody final JsonNode patch,
+                          @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return taskService.patchTask(id, patch, expectedVersion(ifMatch));
     }
 
     @Operation(summary = "Delete task by id")
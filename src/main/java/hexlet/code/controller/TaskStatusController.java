@@ -1,27 +1,46 @@
 package hexlet.code.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.EntityTag;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.SparseFieldsWriter;
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.service.TaskStatusService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
+import static hexlet.code.component.JsonMergePatcher.MERGE_PATCH_JSON_VALUE;
+import static hexlet.code.component.ResourceVersions.expectedVersion;
+import static hexlet.code.component.SparseFieldsWriter.FIELDS;
+import static hexlet.code.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
 import static hexlet.code.controller.TaskStatusController.TASK_STATUS_CONTROLLER_PATH;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @AllArgsConstructor
 @RestController
@@ -30,25 +49,60 @@ public class TaskStatusController {
 
     public static final String TASK_STATUS_CONTROLLER_PATH = "/statuses";
     public static final String ID = "/{id}";
+    public static final Set<String> TASK_STATUS_FIELDS = Set.of("id", "name", "createdAt", "updatedAt", "version");
     private final TaskStatusService taskStatusService;
+    private final ResourceVersions resourceVersions;
+    private final SparseFieldsWriter sparseFieldsWriter;
 
     @Operation(summary = "Get task status by id")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task status found"),
+        @ApiResponse(responseCode = "304", description = "Task status not modified"),
         @ApiResponse(responseCode = "404", description = "Task status not found")
     })
     @GetMapping(path = ID)
-    public TaskStatus getTaskStatus(@PathVariable final long id) {
-        return taskStatusService.getTaskStatusById(id);
+    public TaskStatus getTaskStatus(@PathVariable final long id, final WebRequest request) {
+        final EntityTag tag = resourceVersions.entityTag();
+        if (tag.checkNotModified(request, () -> taskStatusService.getTaskStatusVersion(id))) {
+            return null;
+        }
+        final TaskStatus taskStatus = taskStatusService.getTaskStatusById(id);
+        tag.addTo(request, taskStatus.getVersion(), taskStatus.getUpdatedAt());
+        return taskStatus;
     }
 
     @Operation(summary = "Get list of all task statuses")
-    @ApiResponse(responseCode = "200", description = "List of all task statuses")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of all task statuses"),
+        @ApiResponse(responseCode = "304", description = "Task statuses not modified")
+    })
     @GetMapping
-    public List<TaskStatus> getAllTaskStatuses() {
+    public List<TaskStatus> getAllTaskStatuses(final WebRequest request) {
+        if (resourceVersions.checkNotModified(request, Resource.TASK_STATUSES)) {
+            return null;
+        }
         return taskStatusService.getTaskStatuses();
     }
 
+    @Operation(summary = "Get only the given comma separated fields of all task statuses")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of all task statuses with the given fields"),
+        @ApiResponse(responseCode = "304", description = "Task statuses not modified"),
+        @ApiResponse(responseCode = "400", description = "Unknown field")
+    })
+    @GetMapping(params = FIELDS, produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public void getAllTaskStatusFields(@RequestParam final String fields,
+                                       final WebRequest request,
+                                       final HttpServletResponse response) throws IOException {
+        final Set<String> selected = SparseFieldsWriter.parse(fields, TASK_STATUS_FIELDS);
+        if (resourceVersions.checkNotModified(request, Resource.TASK_STATUSES)) {
+            return;
+        }
+        // the cached list is already in memory, so the fields are only dropped from the output
+        sparseFieldsWriter.write(request, response, TaskStatus.class, selected,
+                taskStatusService.getTaskStatuses()::forEach);
+    }
+
     @Operation(summary = "Create new task status")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Task status created"),
@@ -71,6 +125,20 @@ public class TaskStatusController {
         return taskStatusService.updateTaskStatus(id, taskStatusDto);
     }
 
+    @Operation(summary = "Update only the given fields of a task status with a JSON merge patch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task status updated"),
+        @ApiResponse(responseCode = "404", description = "Task status not found"),
+        @ApiResponse(responseCode = "409", description = "Task status was changed concurrently"),
+        @ApiResponse(responseCode = "412", description = "Task status was changed since the If-Match version"),
+        @ApiResponse(responseCode = "422", description = "Patched task status is invalid")
+    })
+    @PatchMapping(path = ID, consumes = {MERGE_PATCH_JSON_VALUE, APPLICATION_JSON_VALUE})
+    public TaskStatus patchTaskStatus(@PathVariable final long id, @RequestBody final JsonNode patch,
+                                      @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return taskStatusService.patchTaskStatus(id, patch, expectedVersion(ifMatch));
+    }
+
     @Operation(summary = "Delete task status by id")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task status deleted"),
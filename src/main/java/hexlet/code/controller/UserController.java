@@ -1,27 +1,47 @@
 package hexlet.code.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
+import com.fasterxml.jackson.databind.JsonNode;
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.EntityTag;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.SparseFieldsWriter;
 import hexlet.code.dto.UserDto;
 import hexlet.code.model.User;
 import hexlet.code.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import static hexlet.code.component.JsonMergePatcher.MERGE_PATCH_JSON_VALUE;
+import static hexlet.code.component.ResourceVersions.expectedVersion;
+import static hexlet.code.component.SparseFieldsWriter.FIELDS;
+import static hexlet.code.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
 import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
+import static hexlet.code.repository.UserRepositoryCustomImpl.USER_FIELDS;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @AllArgsConstructor
 @RestController
@@ -31,28 +51,60 @@ public class UserController {
     public static final String ID = "/{id}";
 
     private static final String ONLY_OWNER_BY_ID = """
-            @userRepository.findById(#id).get().getEmail() == authentication.getName()
+            @ownershipChecker.isUser(#id, authentication.getName())
         """;
 
     private final UserService userService;
+    private final ResourceVersions resourceVersions;
+    private final SparseFieldsWriter sparseFieldsWriter;
 
     @Operation(summary = "Get specific user by id")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User found"),
+        @ApiResponse(responseCode = "304", description = "User not modified"),
         @ApiResponse(responseCode = "404", description = "User not found")
     })
     @GetMapping(path = ID)
-    public User getUser(@PathVariable final long id) {
-        return userService.getUserById(id);
+    public User getUser(@PathVariable final long id, final WebRequest request) {
+        final EntityTag tag = resourceVersions.entityTag();
+        if (tag.checkNotModified(request, () -> userService.getUserVersion(id))) {
+            return null;
+        }
+        final User user = userService.getUserById(id);
+        tag.addTo(request, user.getVersion(), user.getUpdatedAt());
+        return user;
     }
 
     @Operation(summary = "Get list of all users")
-    @ApiResponse(responseCode = "200", description = "List of all users")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of all users"),
+        @ApiResponse(responseCode = "304", description = "Users not modified")
+    })
     @GetMapping
-    public List<User> getAllUsers() {
+    public List<User> getAllUsers(final WebRequest request) {
+        if (resourceVersions.checkNotModified(request, Resource.USERS)) {
+            return null;
+        }
         return userService.getUsers();
     }
 
+    @Operation(summary = "Get only the given comma separated fields of all users")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of all users with the given fields"),
+        @ApiResponse(responseCode = "304", description = "Users not modified"),
+        @ApiResponse(responseCode = "400", description = "Unknown field")
+    })
+    @GetMapping(params = FIELDS, produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public void getAllUserFields(@RequestParam final String fields,
+                                 final WebRequest request,
+                                 final HttpServletResponse response) throws IOException {
+        final Set<String> selected = SparseFieldsWriter.parse(fields, USER_FIELDS.keySet());
+        if (resourceVersions.checkNotModified(request, Resource.USERS)) {
+            return;
+        }
+        sparseFieldsWriter.write(request, response, User.class, selected, userService.getUsers(selected)::forEach);
+    }
+
     @Operation(summary = "Create new user")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "User created"),
@@ -75,6 +127,21 @@ public class UserController {
         return userService.updateUser(id, userDto);
     }
 
+    @Operation(summary = "Update only the given fields of a user with a JSON merge patch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "User updated"),
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "409", description = "User was changed concurrently"),
+        @ApiResponse(responseCode = "412", description = "User was changed since the If-Match version"),
+        @ApiResponse(responseCode = "422", description = "Patched user is invalid")
+    })
+    @PatchMapping(path = ID, consumes = {MERGE_PATCH_JSON_VALUE, APPLICATION_JSON_VALUE})
+    @PreAuthorize(ONLY_OWNER_BY_ID)
+    public User patchUser(@PathVariable final long id, @RequestBody final JsonNode patch,
+                          @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return userService.patchUser(id, patch, expectedVersion(ifMatch));
+    }
+
     @Operation(summary = "Delete user by id")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User deleted"),
@@ -0,0 +1,25 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventDto {
+
+    private long id;
+
+    private long aggregateId;
+
+    private String type;
+
+    @JsonRawValue
+    private String payload;
+
+    private Date createdAt;
+}
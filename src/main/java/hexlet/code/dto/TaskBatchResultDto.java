@@ -0,0 +1,19 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResultDto {
+
+    private int index;
+
+    private int status;
+
+    private Long id;
+
+    private String error;
+}
@@ -0,0 +1,25 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEventDto {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, RESYNC
+    }
+
+    private Type type;
+
+    private long id;
+
+    private TaskSummaryDto task;
+
+    @JsonIgnore
+    private TaskSummaryDto previous;
+}
@@ -0,0 +1,19 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEventFilterDto {
+
+    private Long taskStatus;
+
+    private Long executorId;
+
+    private Long authorId;
+
+    private Long labelsId;
+}
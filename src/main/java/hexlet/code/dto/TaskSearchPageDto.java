@@ -0,0 +1,17 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchPageDto {
+
+    private List<TaskSummaryDto> content;
+
+    private int total;
+}
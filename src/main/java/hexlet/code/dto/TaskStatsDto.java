@@ -0,0 +1,22 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsDto {
+
+    private long total;
+
+    private Map<Long, Long> taskStatuses;
+
+    // tasks without an executor are counted under 0
+    private Map<Long, Long> executors;
+
+    private Map<Long, Long> labels;
+}
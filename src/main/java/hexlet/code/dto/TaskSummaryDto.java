@@ -0,0 +1,33 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummaryDto {
+
+    private long id;
+
+    private String name;
+
+    private ReferenceDto taskStatus;
+
+    private UserReferenceDto author;
+
+    private UserReferenceDto executor;
+
+    private Date createdAt;
+
+    private List<ReferenceDto> labels;
+
+    // only selected with fields=description, other listings do not read task_descriptions
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String description;
+}
@@ -0,0 +1,13 @@
+package hexlet.code.exception;
+
+// the message is written to the response, so it must only describe what was wrong with the request
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(final String message) {
+        super(message);
+    }
+
+    public BadRequestException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
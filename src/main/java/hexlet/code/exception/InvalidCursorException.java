@@ -0,0 +1,8 @@
+package hexlet.code.exception;
+
+public class InvalidCursorException extends BadRequestException {
+
+    public InvalidCursorException(final String cursor, final Throwable cause) {
+        super("Malformed cursor: " + cursor, cause);
+    }
+}
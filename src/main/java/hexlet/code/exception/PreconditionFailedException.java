@@ -0,0 +1,9 @@
+package hexlet.code.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(final Class<?> type, final long id, final long version,
+                                       final long expectedVersion) {
+        super(type.getSimpleName() + " " + id + " has version " + version + ", If-Match expected " + expectedVersion);
+    }
+}
@@ -0,0 +1,333 @@
+package hexlet.code.filter;
+
+import hexlet.code.config.CompressionProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import static hexlet.code.config.CompressionProperties.DISABLED;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.VARY;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+    private static final Pattern ZERO_QUALITY = Pattern.compile("\\s*q\\s*=\\s*0(\\.0*)?\\s*");
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final String WEAK_PREFIX = "W/";
+
+    private final CompressionProperties properties;
+    private final List<MediaType> mimeTypes;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public CompressionFilter(final CompressionProperties properties) {
+        this.properties = properties;
+        this.mimeTypes = properties.getMimeTypes().stream()
+                .map(MediaType::parseMediaType)
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String accept = request.getHeader(ACCEPT);
+        return !properties.isEnabled()
+                || !acceptsGzip(request.getHeader(ACCEPT_ENCODING))
+                || accept != null && accept.contains(TEXT_EVENT_STREAM_VALUE)
+                || threshold(request) == DISABLED;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final CompressingResponse compressingResponse = new CompressingResponse(response, threshold(request));
+        filterChain.doFilter(request, compressingResponse);
+        // the body of an async response is written after this returns, so it is sent as it is written
+        if (request.isAsyncStarted()) {
+            compressingResponse.release();
+        } else {
+            compressingResponse.finish();
+        }
+    }
+
+    private int threshold(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, Integer> endpoint : properties.getEndpoints().entrySet()) {
+            if (pathMatcher.match(endpoint.getKey(), path)) {
+                return endpoint.getValue();
+            }
+        }
+        return properties.getMinResponseSize();
+    }
+
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            if (parts[0].equalsIgnoreCase(GZIP) || parts[0].equals("*")) {
+                return parts.length < 2 || !ZERO_QUALITY.matcher(parts[1]).matches();
+            }
+        }
+        return false;
+    }
+
+    // the body is kept in memory until it outgrows the threshold, smaller bodies are sent as they are
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final int threshold;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private boolean finished;
+
+        private CompressingResponse(final HttpServletResponse response, final int threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called for this response");
+            }
+            if (outputStream == null) {
+                outputStream = new CompressingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called for this response");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(new CompressingOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // the length is only known once the body is complete
+        @Override
+        public void setContentLength(final int length) {
+        }
+
+        @Override
+        public void setContentLengthLong(final long length) {
+        }
+
+        @Override
+        public void setHeader(final String name, final String value) {
+            if (!CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(final String name, final String value) {
+            if (!CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(final String name, final int value) {
+            if (!CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(final String name, final int value) {
+            if (!CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else {
+                flush();
+            }
+            if (target != null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            buffer.reset();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            buffer.reset();
+        }
+
+        private void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (target != null) {
+                target.write(bytes, offset, length);
+                return;
+            }
+            buffer.write(bytes, offset, length);
+            if (buffer.size() > threshold) {
+                start(isCompressible() && getHeader(CONTENT_ENCODING) == null);
+            }
+        }
+
+        // flushes of a body that may still be compressed are ignored, an event stream is never held back
+        private void flush() throws IOException {
+            if (target == null && getContentType() != null && !isCompressible()) {
+                start(false);
+            }
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        private void release() throws IOException {
+            if (target == null) {
+                start(false);
+            }
+            target.flush();
+        }
+
+        private void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target instanceof GZIPOutputStream gzip) {
+                gzip.finish();
+            } else if (target == null && buffer.size() > 0) {
+                if (isCompressible()) {
+                    varyOnAcceptEncoding();
+                }
+                getResponse().setContentLength(buffer.size());
+                buffer.writeTo(getResponse().getOutputStream());
+                buffer.reset();
+            }
+        }
+
+        private void start(final boolean compress) throws IOException {
+            final HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (compress) {
+                varyOnAcceptEncoding();
+                response.setHeader(CONTENT_ENCODING, GZIP);
+                weakenEntityTag(response);
+                target = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE, true);
+            } else {
+                target = response.getOutputStream();
+            }
+            buffer.writeTo(target);
+            buffer.reset();
+        }
+
+        // the gzip bytes differ from the identity ones, weak comparison still lets If-None-Match revalidate them
+        private void weakenEntityTag(final HttpServletResponse response) {
+            final String etag = response.getHeader(ETAG);
+            if (etag != null && !etag.startsWith(WEAK_PREFIX)) {
+                response.setHeader(ETAG, WEAK_PREFIX + etag);
+            }
+        }
+
+        private void varyOnAcceptEncoding() {
+            final HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (response.getHeaders(VARY).stream().noneMatch(vary -> vary.contains(ACCEPT_ENCODING))) {
+                response.addHeader(VARY, ACCEPT_ENCODING);
+            }
+        }
+
+        private boolean isCompressible() {
+            final String contentType = getContentType();
+            if (contentType == null) {
+                return false;
+            }
+            try {
+                final MediaType mediaType = MediaType.parseMediaType(contentType);
+                return mimeTypes.stream().anyMatch(mimeType -> mimeType.includes(mediaType));
+            } catch (InvalidMediaTypeException e) {
+                return false;
+            }
+        }
+
+        private final class CompressingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(final int b) throws IOException {
+                CompressingResponse.this.write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                CompressingResponse.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                CompressingResponse.this.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                finish();
+            }
+
+            @Override
+            public boolean isReady() {
+                return !(target instanceof ServletOutputStream servletStream) || servletStream.isReady();
+            }
+
+            // a non-blocking writer decides itself when to write, so its body is sent as it is written
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                if (target == null) {
+                    try {
+                        start(false);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                if (!(target instanceof ServletOutputStream servletStream)) {
+                    throw new IllegalStateException("Non-blocking writes cannot continue a " + GZIP + " body");
+                }
+                servletStream.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package hexlet.code.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.component.JWTHelper;
+import hexlet.code.config.security.AuthenticatedUser;
 import hexlet.code.dto.LoginDto;
 import java.io.IOException;
 import java.util.Map;
@@ -14,12 +15,13 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
+    public static final String USER_ID_KEY = "userId";
+
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private final JWTHelper jwtHelper;
@@ -61,8 +63,11 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                                             final HttpServletResponse response,
                                             final FilterChain chain,
                                             final Authentication authResult) throws IOException {
-        final UserDetails user = (UserDetails) authResult.getPrincipal();
-        final String token = jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, user.getUsername()));
+        final AuthenticatedUser user = (AuthenticatedUser) authResult.getPrincipal();
+        final String token = jwtHelper.expiring(Map.of(
+                SPRING_SECURITY_FORM_USERNAME_KEY, user.getUsername(),
+                USER_ID_KEY, user.getId()
+        ));
 
         response.getWriter().println(token);
     }
@@ -1,7 +1,9 @@
 package hexlet.code.filter;
 
 import hexlet.code.component.JWTHelper;
+import hexlet.code.config.security.AuthenticatedUser;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,6 +15,7 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
+import static hexlet.code.filter.JWTAuthenticationFilter.USER_ID_KEY;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
 
@@ -40,20 +43,26 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
                                     final FilterChain filterChain) throws ServletException, IOException {
 
         final var authToken = Optional.ofNullable(request.getHeader(AUTHORIZATION))
-                .map(header -> header.replaceFirst("^" + BEARER, ""))
+                .map(header -> header.startsWith(BEARER) ? header.substring(BEARER.length()) : header)
                 .map(String::trim)
                 .map(jwtHelper::verify)
-                .map(claims -> claims.get(SPRING_SECURITY_FORM_USERNAME_KEY))
-                .map(Object::toString)
+                .filter(claims -> claims.containsKey(SPRING_SECURITY_FORM_USERNAME_KEY))
                 .map(this::buildAuthToken)
                 .orElse(null);
         SecurityContextHolder.getContext().setAuthentication(authToken);
         filterChain.doFilter(request, response);
     }
 
-    private UsernamePasswordAuthenticationToken buildAuthToken(final String username) {
+    private UsernamePasswordAuthenticationToken buildAuthToken(final Map<String, Object> claims) {
+        final Long userId = claims.get(USER_ID_KEY) instanceof Number id ? id.longValue() : null;
+        final AuthenticatedUser user = new AuthenticatedUser(
+                userId,
+                claims.get(SPRING_SECURITY_FORM_USERNAME_KEY).toString(),
+                "",
+                DEFAULT_AUTHORITIES
+        );
         return new UsernamePasswordAuthenticationToken(
-                username,
+                user,
                 null,
                 DEFAULT_AUTHORITIES
         );
@@ -3,13 +3,17 @@ package hexlet.code.model;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -17,15 +21,23 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
-import java.util.List;
+import java.util.Set;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static jakarta.persistence.TemporalType.TIMESTAMP;
 
 @Entity
-@Table(name = "tasks")
+@DynamicUpdate
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_task_status_id", columnList = "task_status_id, id"),
+    @Index(name = "idx_tasks_executor_id", columnList = "executor_id, id"),
+    @Index(name = "idx_tasks_author_id", columnList = "author_id, id"),
+    @Index(name = "idx_tasks_task_status_id_executor_id", columnList = "task_status_id, executor_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,13 +45,15 @@ import static jakarta.persistence.TemporalType.TIMESTAMP;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private long id;
 
     @NotBlank
     private String name;
 
-    @Lob
+    // stored in task_descriptions so that loading a task does not read it, see TaskService
+    @Transient
     private String description;
 
     @NotNull
@@ -57,10 +71,19 @@ public class Task {
     @Temporal(TIMESTAMP)
     private Date createdAt;
 
+    @UpdateTimestamp
+    @Temporal(TIMESTAMP)
+    private Date updatedAt;
+
+    @Version
+    private long version;
+
     @ManyToMany
     @JoinTable(name = "tasks_labels",
             joinColumns = @JoinColumn(name = "label_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "task_id",
-                    referencedColumnName = "id"))
-    private List<Label> labels;
+                    referencedColumnName = "id"),
+            indexes = @Index(name = "idx_tasks_labels_task_id", columnList = "task_id, label_id"))
+    @OrderBy("id")
+    private Set<Label> labels;
 }
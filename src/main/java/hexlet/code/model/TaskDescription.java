@@ -0,0 +1,38 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import static jakarta.persistence.FetchType.LAZY;
+
+@Entity
+@Table(name = "task_descriptions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskDescription {
+
+    @Id
+    private long id;
+
+    @MapsId
+    @OneToOne(fetch = LAZY)
+    @JoinColumn(name = "task_id")
+    private Task task;
+
+    @Lob
+    private String description;
+
+    public TaskDescription(final Task task, final String description) {
+        this.task = task;
+        this.description = description;
+    }
+}
@@ -2,6 +2,12 @@ package hexlet.code.repository;
 
 import hexlet.code.model.Label;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface LabelRepository extends JpaRepository<Label, Long> {
+
+    @Query("select l.version from Label l where l.id = :id")
+    Optional<Long> findVersionById(long id);
 }
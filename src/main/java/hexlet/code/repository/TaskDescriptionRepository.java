@@ -0,0 +1,13 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskDescription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface TaskDescriptionRepository extends JpaRepository<TaskDescription, Long> {
+
+    @Modifying
+    @Query("delete from TaskDescription d where d.id = :id")
+    void deleteByTaskId(long id);
+}
@@ -1,8 +1,33 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.CountDto;
 import hexlet.code.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task> {
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task>,
+        TaskRepositoryCustom {
+
+    @Query("select t.author.email from Task t where t.id = :id")
+    Optional<String> findAuthorEmailById(long id);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(long id);
+
+    @Query("select new hexlet.code.dto.CountDto(t.taskStatus.id, count(t)) from Task t group by t.taskStatus.id")
+    List<CountDto> countByTaskStatus();
+
+    @Query("""
+            select new hexlet.code.dto.CountDto(coalesce(e.id, 0L), count(t))
+            from Task t left join t.executor e
+            group by coalesce(e.id, 0L)
+            """)
+    List<CountDto> countByExecutor();
+
+    @Query("select new hexlet.code.dto.CountDto(l.id, count(t)) from Task t join t.labels l group by l.id")
+    List<CountDto> countByLabel();
 }
@@ -0,0 +1,23 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.model.Task;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+
+    Optional<Task> findWithDescriptionById(long id);
+
+    List<TaskSummaryDto> findSummaries(Predicate predicate);
+
+    List<TaskSummaryDto> findSummariesAfter(Predicate predicate, long afterId, int limit);
+
+    Stream<TaskSummaryDto> streamSummaries(Predicate predicate, Set<String> fields);
+
+    List<TaskSummaryDto> fetchLabels(List<TaskSummaryDto> tasks);
+}
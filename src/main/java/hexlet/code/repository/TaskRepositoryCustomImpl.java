@@ -0,0 +1,187 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hexlet.code.dto.ReferenceDto;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.dto.UserReferenceDto;
+import hexlet.code.model.QUser;
+import hexlet.code.model.Task;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static hexlet.code.model.QLabel.label;
+import static hexlet.code.model.QTask.task;
+import static hexlet.code.model.QTaskDescription.taskDescription;
+import static hexlet.code.model.QTaskStatus.taskStatus;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    public static final int LABELS_FETCH_CHUNK = 1000;
+    public static final String NAME_FIELD = "name";
+    public static final String TASK_STATUS_FIELD = "taskStatus";
+    public static final String AUTHOR_FIELD = "author";
+    public static final String EXECUTOR_FIELD = "executor";
+    public static final String CREATED_AT_FIELD = "createdAt";
+    public static final String LABELS_FIELD = "labels";
+    public static final String DESCRIPTION_FIELD = "description";
+    public static final Set<String> SUMMARY_FIELDS = Set.of("id", NAME_FIELD, TASK_STATUS_FIELD, AUTHOR_FIELD,
+            EXECUTOR_FIELD, CREATED_AT_FIELD, LABELS_FIELD);
+    // the description is kept out of the default summary and only read when it is asked for
+    public static final Set<String> SELECTABLE_FIELDS = Stream.concat(SUMMARY_FIELDS.stream(),
+            Stream.of(DESCRIPTION_FIELD)).collect(Collectors.toUnmodifiableSet());
+
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final QUser AUTHOR = new QUser("author");
+    private static final QUser EXECUTOR = new QUser("executor");
+
+    private final JPAQueryFactory queryFactory;
+
+    public TaskRepositoryCustomImpl(final EntityManager entityManager) {
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    // one statement for the task, its associations and the description kept in task_descriptions
+    @Override
+    public Optional<Task> findWithDescriptionById(final long id) {
+        final List<Tuple> rows = queryFactory.select(task, taskDescription.description)
+                .from(task)
+                .join(task.taskStatus).fetchJoin()
+                .join(task.author).fetchJoin()
+                .leftJoin(task.executor).fetchJoin()
+                .leftJoin(task.labels).fetchJoin()
+                .leftJoin(taskDescription).on(taskDescription.task.eq(task))
+                .where(task.id.eq(id))
+                .fetch();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        final Task found = rows.get(0).get(task);
+        found.setDescription(rows.get(0).get(taskDescription.description));
+        return Optional.of(found);
+    }
+
+    @Override
+    public List<TaskSummaryDto> findSummaries(final Predicate predicate) {
+        return fetchLabels(selectSummaries(predicate)
+                .fetch()
+                .stream()
+                .map(TaskRepositoryCustomImpl::toSummary)
+                .toList());
+    }
+
+    @Override
+    public List<TaskSummaryDto> findSummariesAfter(final Predicate predicate, final long afterId, final int limit) {
+        return fetchLabels(selectSummaries(predicate)
+                .where(task.id.gt(afterId))
+                .limit(limit)
+                .fetch()
+                .stream()
+                .map(TaskRepositoryCustomImpl::toSummary)
+                .toList());
+    }
+
+    @Override
+    public Stream<TaskSummaryDto> streamSummaries(final Predicate predicate, final Set<String> fields) {
+        return selectSummaries(predicate, fields)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .stream()
+                .map(row -> toSummary(row, fields));
+    }
+
+    @Override
+    public List<TaskSummaryDto> fetchLabels(final List<TaskSummaryDto> tasks) {
+        for (int from = 0; from < tasks.size(); from += LABELS_FETCH_CHUNK) {
+            final Map<Long, TaskSummaryDto> chunk = tasks
+                    .subList(from, Math.min(from + LABELS_FETCH_CHUNK, tasks.size()))
+                    .stream()
+                    .collect(Collectors.toMap(TaskSummaryDto::getId, Function.identity()));
+            queryFactory.select(task.id, label.id, label.name)
+                    .from(task)
+                    .join(task.labels, label)
+                    .where(task.id.in(chunk.keySet()))
+                    .orderBy(label.id.asc())
+                    .fetch()
+                    .forEach(row -> chunk.get(row.get(task.id)).getLabels()
+                            .add(new ReferenceDto(row.get(label.id), row.get(label.name))));
+        }
+        return tasks;
+    }
+
+    private JPAQuery<Tuple> selectSummaries(final Predicate predicate) {
+        return selectSummaries(predicate, SUMMARY_FIELDS);
+    }
+
+    // only the requested columns are selected and only the requested references are joined
+    private JPAQuery<Tuple> selectSummaries(final Predicate predicate, final Set<String> fields) {
+        final List<Expression<?>> columns = new ArrayList<>(List.of(task.id));
+        if (fields.contains(NAME_FIELD)) {
+            columns.add(task.name);
+        }
+        if (fields.contains(CREATED_AT_FIELD)) {
+            columns.add(task.createdAt);
+        }
+        if (fields.contains(TASK_STATUS_FIELD)) {
+            columns.addAll(List.of(taskStatus.id, taskStatus.name));
+        }
+        if (fields.contains(AUTHOR_FIELD)) {
+            columns.addAll(List.of(AUTHOR.id, AUTHOR.firstName, AUTHOR.lastName));
+        }
+        if (fields.contains(EXECUTOR_FIELD)) {
+            columns.addAll(List.of(EXECUTOR.id, EXECUTOR.firstName, EXECUTOR.lastName));
+        }
+        if (fields.contains(DESCRIPTION_FIELD)) {
+            columns.add(taskDescription.description);
+        }
+        final JPAQuery<Tuple> query = queryFactory.select(columns.toArray(Expression<?>[]::new)).from(task);
+        if (fields.contains(TASK_STATUS_FIELD)) {
+            query.join(task.taskStatus, taskStatus);
+        }
+        if (fields.contains(AUTHOR_FIELD)) {
+            query.join(task.author, AUTHOR);
+        }
+        if (fields.contains(EXECUTOR_FIELD)) {
+            query.leftJoin(task.executor, EXECUTOR);
+        }
+        if (fields.contains(DESCRIPTION_FIELD)) {
+            query.leftJoin(taskDescription).on(taskDescription.task.eq(task));
+        }
+        return query.where(predicate).orderBy(task.id.asc());
+    }
+
+    private static TaskSummaryDto toSummary(final Tuple row) {
+        return toSummary(row, SUMMARY_FIELDS);
+    }
+
+    private static TaskSummaryDto toSummary(final Tuple row, final Set<String> fields) {
+        return new TaskSummaryDto(
+                row.get(task.id),
+                row.get(task.name),
+                fields.contains(TASK_STATUS_FIELD)
+                        ? new ReferenceDto(row.get(taskStatus.id), row.get(taskStatus.name))
+                        : null,
+                toUserReference(row, AUTHOR),
+                toUserReference(row, EXECUTOR),
+                row.get(task.createdAt),
+                fields.contains(LABELS_FIELD) ? new ArrayList<>() : null,
+                fields.contains(DESCRIPTION_FIELD) ? row.get(taskDescription.description) : null
+        );
+    }
+
+    private static UserReferenceDto toUserReference(final Tuple row, final QUser user) {
+        final Long id = row.get(user.id);
+        return id == null ? null : new UserReferenceDto(id, row.get(user.firstName), row.get(user.lastName));
+    }
+}
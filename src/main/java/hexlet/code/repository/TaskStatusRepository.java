@@ -2,7 +2,12 @@ package hexlet.code.repository;
 
 import hexlet.code.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
 
+    @Query("select s.version from TaskStatus s where s.id = :id")
+    Optional<Long> findVersionById(long id);
 }
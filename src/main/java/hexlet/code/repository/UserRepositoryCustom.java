@@ -0,0 +1,11 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.User;
+
+import java.util.List;
+import java.util.Set;
+
+public interface UserRepositoryCustom {
+
+    List<User> findAllFields(Set<String> fields);
+}
@@ -0,0 +1,42 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hexlet.code.model.User;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static hexlet.code.model.QUser.user;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    public static final Map<String, Expression<?>> USER_FIELDS = Map.of(
+            "id", user.id,
+            "email", user.email,
+            "firstName", user.firstName,
+            "lastName", user.lastName,
+            "createdAt", user.createdAt,
+            "updatedAt", user.updatedAt,
+            "version", user.version);
+
+    private final JPAQueryFactory queryFactory;
+
+    public UserRepositoryCustomImpl(final EntityManager entityManager) {
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    // the users are plain beans with only the selected properties set, not managed entities
+    @Override
+    public List<User> findAllFields(final Set<String> fields) {
+        return queryFactory.select(Projections.bean(User.class, fields.stream()
+                        .map(USER_FIELDS::get)
+                        .toArray(Expression<?>[]::new)))
+                .from(user)
+                .orderBy(user.id.asc())
+                .fetch();
+    }
+}
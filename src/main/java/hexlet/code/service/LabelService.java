@@ -1,13 +1,26 @@
 package hexlet.code.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import hexlet.code.component.JsonMergePatcher;
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.Resource;
 import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+
+import static hexlet.code.component.ResourceVersions.checkVersion;
+import static hexlet.code.config.CacheConfig.ALL;
+import static hexlet.code.config.CacheConfig.LABELS;
 
 @Service
 @Transactional
@@ -15,29 +28,67 @@ import java.util.List;
 public class LabelService {
 
     private final LabelRepository labelRepository;
+    private final ResourceVersions resourceVersions;
+    private final JsonMergePatcher jsonMergePatcher;
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = LABELS, key = "#id")
     public Label getLabelById(long id) {
         return labelRepository.findById(id).orElseThrow();
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = LABELS, key = ALL)
     public List<Label> getLabels() {
         return labelRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Long> getLabelVersion(long id) {
+        return labelRepository.findVersionById(id);
+    }
+
+    @Caching(
+        put = @CachePut(cacheNames = LABELS, key = "#result.id"),
+        evict = @CacheEvict(cacheNames = LABELS, key = ALL)
+    )
     public Label createLabel(LabelDto labelDto) {
         Label label = new Label();
         label.setName(labelDto.getName());
+        resourceVersions.increment(Resource.LABELS);
         return labelRepository.save(label);
     }
 
+    @Caching(
+        put = @CachePut(cacheNames = LABELS, key = "#id"),
+        evict = @CacheEvict(cacheNames = LABELS, key = ALL)
+    )
     public Label updateLabel(long id, LabelDto labelDto) {
         Label label = labelRepository.findById(id).orElseThrow();
         label.setName(labelDto.getName());
+        resourceVersions.increment(Resource.LABELS);
+        return labelRepository.save(label);
+    }
+
+    @Caching(
+        put = @CachePut(cacheNames = LABELS, key = "#id"),
+        evict = @CacheEvict(cacheNames = LABELS, key = ALL)
+    )
+    public Label patchLabel(long id, JsonNode patch, Long expectedVersion) {
+        Label label = labelRepository.findById(id).orElseThrow();
+        checkVersion(Label.class, id, label.getVersion(), expectedVersion);
+        label.setName(jsonMergePatcher.apply(new LabelDto(label.getName()), patch).getName());
+        resourceVersions.increment(Resource.LABELS);
         return labelRepository.save(label);
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = LABELS, key = "#id"),
+        @CacheEvict(cacheNames = LABELS, key = ALL)
+    })
     public void deleteLabel(long id) {
         Label label = labelRepository.findById(id).orElseThrow();
         labelRepository.delete(label);
+        resourceVersions.increment(Resource.LABELS);
     }
 }
@@ -1,68 +1,397 @@
 package hexlet.code.service;
 
 import com.querydsl.core.types.Predicate;
+import com.fasterxml.jackson.databind.JsonNode;
+import hexlet.code.component.JsonMergePatcher;
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.TaskSearchIndex;
+import hexlet.code.component.TaskSearchIndex.SearchResult;
+import hexlet.code.dto.ReferenceDto;
+import hexlet.code.dto.TaskBatchResultDto;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskEventDto;
+import hexlet.code.dto.TaskEventDto.Type;
+import hexlet.code.dto.TaskPageDto;
+import hexlet.code.dto.TaskSearchPageDto;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.dto.UserReferenceDto;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.exception.InvalidCursorException;
 import hexlet.code.model.Label;
+import hexlet.code.model.QTask;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskDescription;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskDescriptionRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static hexlet.code.component.ResourceVersions.checkVersion;
+import static hexlet.code.repository.TaskRepositoryCustomImpl.LABELS_FETCH_CHUNK;
+import static hexlet.code.repository.TaskRepositoryCustomImpl.LABELS_FIELD;
+import static hexlet.code.repository.TaskRepositoryCustomImpl.SUMMARY_FIELDS;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Service
 @Transactional
 @AllArgsConstructor
 public class TaskService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final TaskRepository taskRepository;
+    private final TaskDescriptionRepository taskDescriptionRepository;
     private final UserRepository userRepository;
-    private final UserService userService;
     private final TaskStatusRepository taskStatusRepository;
     private final LabelRepository labelRepository;
+    private final UserService userService;
+    private final TaskStatusService taskStatusService;
+    private final LabelService labelService;
+    private final Validator validator;
+    private final ResourceVersions resourceVersions;
+    private final JsonMergePatcher jsonMergePatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskSearchIndex taskSearchIndex;
 
+    @Transactional(readOnly = true)
     public Task getTaskById(long id) {
-        return taskRepository.findById(id).orElseThrow();
+        return taskRepository.findWithDescriptionById(id).orElseThrow();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Long> getTaskVersion(long id) {
+        return taskRepository.findVersionById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummaryDto> getTasks(Predicate predicate) {
+        return taskRepository.findSummaries(predicate);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDto getTasksPage(Predicate predicate, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<TaskSummaryDto> tasks = taskRepository.findSummariesAfter(predicate, decodeCursor(cursor), limit + 1);
+        if (tasks.size() <= limit) {
+            return new TaskPageDto(tasks, null);
+        }
+        List<TaskSummaryDto> content = tasks.subList(0, limit);
+        return new TaskPageDto(content, encodeCursor(content.get(limit - 1).getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamTasks(Predicate predicate, Consumer<TaskSummaryDto> consumer) {
+        streamTasks(predicate, SUMMARY_FIELDS, consumer);
     }
 
-    public Iterable<Task> getTasks(Predicate predicate) {
-        return taskRepository.findAll(predicate);
+    @Transactional(readOnly = true)
+    public void streamTasks(Predicate predicate, Set<String> fields, Consumer<TaskSummaryDto> consumer) {
+        if (!fields.contains(LABELS_FIELD)) {
+            try (Stream<TaskSummaryDto> tasks = taskRepository.streamSummaries(predicate, fields)) {
+                tasks.forEach(consumer);
+            }
+            return;
+        }
+        List<TaskSummaryDto> chunk = new ArrayList<>(LABELS_FETCH_CHUNK);
+        try (Stream<TaskSummaryDto> tasks = taskRepository.streamSummaries(predicate, fields)) {
+            tasks.forEach(task -> {
+                chunk.add(task);
+                if (chunk.size() == LABELS_FETCH_CHUNK) {
+                    consumeChunk(chunk, consumer);
+                }
+            });
+        }
+        consumeChunk(chunk, consumer);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSearchPageDto searchTasks(String query, int page, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = (int) Math.min((long) Math.max(page, 0) * limit, Integer.MAX_VALUE - limit);
+        SearchResult result = taskSearchIndex.search(query, offset, limit);
+        if (result.ids().isEmpty()) {
+            return new TaskSearchPageDto(List.of(), result.total());
+        }
+        Map<Long, TaskSummaryDto> tasks = toMap(taskRepository.findSummaries(QTask.task.id.in(result.ids())),
+                TaskSummaryDto::getId);
+        return new TaskSearchPageDto(result.ids().stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .toList(), result.total());
     }
 
     public Task createTask(TaskDto taskDto) {
         Task task = new Task();
+        task.setAuthor(userService.getCurrentUser());
+        task.setLabels(new LinkedHashSet<>());
         transferDataFromDtoToEntity(taskDto, task);
-        return taskRepository.save(task);
+        resourceVersions.increment(Resource.TASKS);
+        taskRepository.save(task);
+        saveDescription(task, null);
+        publishEvent(Type.CREATED, task, null);
+        taskSearchIndex.put(task.getId(), task.getName(), task.getDescription());
+        return task;
+    }
+
+    public List<TaskBatchResultDto> createTasks(List<TaskDto> taskDtos) {
+        if (taskDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+        User author = userService.getCurrentUser();
+        Map<Long, TaskStatus> taskStatuses = toMap(taskStatusRepository.findAllById(
+                collectIds(taskDtos, taskDto -> Stream.of(taskDto.getTaskStatusId()))), TaskStatus::getId);
+        Map<Long, User> executors = toMap(userRepository.findAllById(
+                collectIds(taskDtos, taskDto -> Stream.of(taskDto.getExecutorId()))), User::getId);
+        Map<Long, Label> labels = toMap(labelRepository.findAllById(
+                collectIds(taskDtos, taskDto -> taskDto.getLabelIds() == null
+                        ? Stream.empty()
+                        : taskDto.getLabelIds().stream())), Label::getId);
+
+        List<TaskBatchResultDto> results = new ArrayList<>(taskDtos.size());
+        List<Task> tasks = new ArrayList<>(taskDtos.size());
+        List<TaskBatchResultDto> created = new ArrayList<>(taskDtos.size());
+        for (int i = 0; i < taskDtos.size(); i++) {
+            TaskDto taskDto = taskDtos.get(i);
+            TaskBatchResultDto result = new TaskBatchResultDto(i, CREATED.value(), null, null);
+            results.add(result);
+            if (taskDto == null) {
+                result.setStatus(BAD_REQUEST.value());
+                result.setError("Task must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<TaskDto>> violations = validator.validate(taskDto);
+            TaskStatus taskStatus = taskStatuses.get(taskDto.getTaskStatusId());
+            if (!violations.isEmpty()) {
+                result.setStatus(UNPROCESSABLE_ENTITY.value());
+                result.setError(violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .collect(Collectors.joining("; ")));
+            } else if (taskStatus == null) {
+                result.setStatus(NOT_FOUND.value());
+                result.setError("Task status " + taskDto.getTaskStatusId() + " not found");
+            } else {
+                Task task = new Task();
+                task.setName(taskDto.getName());
+                task.setDescription(taskDto.getDescription());
+                task.setTaskStatus(taskStatus);
+                task.setAuthor(author);
+                task.setExecutor(executors.get(taskDto.getExecutorId()));
+                task.setLabels(taskDto.getLabelIds() == null ? new LinkedHashSet<>() : taskDto.getLabelIds().stream()
+                        .map(labels::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)));
+                tasks.add(task);
+                created.add(result);
+            }
+        }
+
+        if (tasks.isEmpty()) {
+            return results;
+        }
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        taskDescriptionRepository.saveAll(tasks.stream()
+                .filter(task -> task.getDescription() != null)
+                .map(task -> new TaskDescription(task, task.getDescription()))
+                .toList());
+        resourceVersions.increment(Resource.TASKS);
+        for (int i = 0; i < tasks.size(); i++) {
+            created.get(i).setId(tasks.get(i).getId());
+            publishEvent(Type.CREATED, tasks.get(i), null);
+            taskSearchIndex.put(tasks.get(i).getId(), tasks.get(i).getName(), tasks.get(i).getDescription());
+        }
+        return results;
     }
 
-    public Task updateTask(long id, TaskDto taskDto) {
+    public Task updateTask(long id, TaskDto taskDto, Long expectedVersion) {
         Task task = taskRepository.findById(id).orElseThrow();
+        checkVersion(Task.class, id, task.getVersion(), expectedVersion);
+        TaskDescription description = loadDescription(task);
+        TaskSummaryDto previous = toSummary(task);
         transferDataFromDtoToEntity(taskDto, task);
-        return taskRepository.save(task);
+        if (saveDescription(task, description)) {
+            task.setUpdatedAt(new Date());
+        }
+        resourceVersions.increment(Resource.TASKS);
+        taskRepository.save(task);
+        publishEvent(Type.UPDATED, task, previous);
+        taskSearchIndex.put(id, task.getName(), task.getDescription());
+        return task;
+    }
+
+    public Task patchTask(long id, JsonNode patch, Long expectedVersion) {
+        Task task = taskRepository.findById(id).orElseThrow();
+        checkVersion(Task.class, id, task.getVersion(), expectedVersion);
+        TaskDescription description = loadDescription(task);
+        TaskSummaryDto previous = toSummary(task);
+        transferDataFromDtoToEntity(jsonMergePatcher.apply(toDto(task), patch), task);
+        if (saveDescription(task, description)) {
+            task.setUpdatedAt(new Date());
+        }
+        resourceVersions.increment(Resource.TASKS);
+        taskRepository.save(task);
+        publishEvent(Type.UPDATED, task, previous);
+        taskSearchIndex.put(id, task.getName(), task.getDescription());
+        return task;
     }
 
     public void deleteTask(long id) {
         Task task = taskRepository.findById(id).orElseThrow();
+        TaskSummaryDto previous = toSummary(task);
+        taskDescriptionRepository.deleteByTaskId(id);
         taskRepository.delete(task);
+        resourceVersions.increment(Resource.TASKS);
+        eventPublisher.publishEvent(new TaskEventDto(Type.DELETED, id, null, previous));
+        taskSearchIndex.remove(id);
+    }
+
+    private TaskDescription loadDescription(Task task) {
+        TaskDescription description = taskDescriptionRepository.findById(task.getId()).orElse(null);
+        task.setDescription(description == null ? null : description.getDescription());
+        return description;
+    }
+
+    // the description lives in its own table, so a change of it alone would not dirty the task
+    private boolean saveDescription(Task task, TaskDescription stored) {
+        String description = task.getDescription();
+        if (Objects.equals(stored == null ? null : stored.getDescription(), description)) {
+            return false;
+        }
+        if (stored == null) {
+            taskDescriptionRepository.save(new TaskDescription(task, description));
+        } else if (description == null) {
+            taskDescriptionRepository.delete(stored);
+        } else {
+            stored.setDescription(description);
+        }
+        return true;
+    }
+
+    private List<Label> findLabels(Collection<Long> ids) {
+        Set<Long> labelIds = new HashSet<>(ids);
+        return labelService.getLabels().stream()
+                .filter(label -> labelIds.contains(label.getId()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private void consumeChunk(List<TaskSummaryDto> chunk, Consumer<TaskSummaryDto> consumer) {
+        taskRepository.fetchLabels(chunk).forEach(consumer);
+        chunk.clear();
+    }
+
+    private static Set<Long> collectIds(List<TaskDto> taskDtos, Function<TaskDto, Stream<Long>> ids) {
+        return taskDtos.stream()
+                .filter(Objects::nonNull)
+                .flatMap(ids)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Long, T> toMap(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private static String encodeCursor(long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+    }
+
+    // delivered to subscribers only after commit, see TaskEventBroadcaster
+    private void publishEvent(Type type, Task task, TaskSummaryDto previous) {
+        eventPublisher.publishEvent(new TaskEventDto(type, task.getId(), toSummary(task), previous));
+    }
+
+    private static TaskSummaryDto toSummary(Task task) {
+        return new TaskSummaryDto(
+                task.getId(),
+                task.getName(),
+                new ReferenceDto(task.getTaskStatus().getId(), task.getTaskStatus().getName()),
+                toUserReference(task.getAuthor()),
+                toUserReference(task.getExecutor()),
+                task.getCreatedAt(),
+                task.getLabels().stream()
+                        .map(label -> new ReferenceDto(label.getId(), label.getName()))
+                        .collect(Collectors.toCollection(ArrayList::new)),
+                null
+        );
+    }
+
+    private static UserReferenceDto toUserReference(User user) {
+        return user == null ? null : new UserReferenceDto(user.getId(), user.getFirstName(), user.getLastName());
+    }
+
+    private static TaskDto toDto(Task task) {
+        return new TaskDto(
+                task.getName(),
+                task.getDescription(),
+                task.getTaskStatus().getId(),
+                task.getExecutor() == null ? 0 : task.getExecutor().getId(),
+                task.getLabels().stream().map(Label::getId).collect(Collectors.toCollection(ArrayList::new))
+        );
     }
 
     private void transferDataFromDtoToEntity(TaskDto taskDto, Task task) {
-        User author = userService.getCurrentUser();
-        User executor = userRepository.findById(taskDto.getExecutorId()).orElse(null);
-        TaskStatus taskStatus = taskStatusRepository.findById(taskDto.getTaskStatusId()).orElseThrow();
-        List<Label> labels = new ArrayList<>(labelRepository.findAllById(taskDto.getLabelIds()));
         task.setName(taskDto.getName());
         task.setDescription(taskDto.getDescription());
-        task.setTaskStatus(taskStatus);
-        task.setAuthor(author);
-        task.setExecutor(executor);
-        task.setLabels(labels);
+        if (task.getTaskStatus() == null || task.getTaskStatus().getId() != taskDto.getTaskStatusId()) {
+            task.setTaskStatus(taskStatusService.getTaskStatusById(taskDto.getTaskStatusId()));
+        }
+        if ((task.getExecutor() == null ? 0 : task.getExecutor().getId()) != taskDto.getExecutorId()) {
+            task.setExecutor(userRepository.findById(taskDto.getExecutorId()).orElse(null));
+        }
+        Set<Long> labelIds = taskDto.getLabelIds() == null ? Set.of() : new HashSet<>(taskDto.getLabelIds());
+        boolean labelsChanged = task.getLabels().removeIf(label -> !labelIds.contains(label.getId()));
+        Set<Long> addedIds = new HashSet<>(labelIds);
+        task.getLabels().forEach(label -> addedIds.remove(label.getId()));
+        if (!addedIds.isEmpty()) {
+            labelsChanged |= task.getLabels().addAll(findLabels(addedIds));
+        }
+        if (labelsChanged) {
+            // a change of labels alone would not dirty the task and bump its timestamp
+            task.setUpdatedAt(new Date());
+        }
     }
 }
@@ -1,42 +1,93 @@
 package hexlet.code.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import hexlet.code.component.JsonMergePatcher;
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.Resource;
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import java.util.List;
+import java.util.Optional;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import static hexlet.code.component.ResourceVersions.checkVersion;
+import static hexlet.code.config.CacheConfig.ALL;
+import static hexlet.code.config.CacheConfig.TASK_STATUSES;
+
 @Service
 @Transactional
 @AllArgsConstructor
 public class TaskStatusService {
 
     private final TaskStatusRepository taskStatusRepository;
+    private final ResourceVersions resourceVersions;
+    private final JsonMergePatcher jsonMergePatcher;
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TASK_STATUSES, key = "#id")
     public TaskStatus getTaskStatusById(long id) {
         return taskStatusRepository.findById(id).orElseThrow();
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TASK_STATUSES, key = ALL)
     public List<TaskStatus> getTaskStatuses() {
         return taskStatusRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Long> getTaskStatusVersion(long id) {
+        return taskStatusRepository.findVersionById(id);
+    }
+
+    @Caching(
+        put = @CachePut(cacheNames = TASK_STATUSES, key = "#result.id"),
+        evict = @CacheEvict(cacheNames = TASK_STATUSES, key = ALL)
+    )
     public TaskStatus createTaskStatus(TaskStatusDto taskStatusDto) {
         TaskStatus taskStatus = new TaskStatus();
         taskStatus.setName(taskStatusDto.getName());
+        resourceVersions.increment(Resource.TASK_STATUSES);
         return taskStatusRepository.save(taskStatus);
     }
 
+    @Caching(
+        put = @CachePut(cacheNames = TASK_STATUSES, key = "#id"),
+        evict = @CacheEvict(cacheNames = TASK_STATUSES, key = ALL)
+    )
     public TaskStatus updateTaskStatus(long id, TaskStatusDto taskStatusDto) {
         TaskStatus taskStatus = taskStatusRepository.findById(id).orElseThrow();
         taskStatus.setName(taskStatusDto.getName());
+        resourceVersions.increment(Resource.TASK_STATUSES);
+        return taskStatusRepository.save(taskStatus);
+    }
+
+    @Caching(
+        put = @CachePut(cacheNames = TASK_STATUSES, key = "#id"),
+        evict = @CacheEvict(cacheNames = TASK_STATUSES, key = ALL)
+    )
+    public TaskStatus patchTaskStatus(long id, JsonNode patch, Long expectedVersion) {
+        TaskStatus taskStatus = taskStatusRepository.findById(id).orElseThrow();
+        checkVersion(TaskStatus.class, id, taskStatus.getVersion(), expectedVersion);
+        taskStatus.setName(jsonMergePatcher.apply(new TaskStatusDto(taskStatus.getName()), patch).getName());
+        resourceVersions.increment(Resource.TASK_STATUSES);
         return taskStatusRepository.save(taskStatus);
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = TASK_STATUSES, key = "#id"),
+        @CacheEvict(cacheNames = TASK_STATUSES, key = ALL)
+    })
     public void deleteTaskStatus(long id) {
         TaskStatus taskStatus = taskStatusRepository.findById(id).orElseThrow();
         taskStatusRepository.delete(taskStatus);
+        resourceVersions.increment(Resource.TASK_STATUSES);
     }
 }
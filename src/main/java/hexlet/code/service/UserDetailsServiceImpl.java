@@ -1,5 +1,6 @@
 package hexlet.code.service;
 
+import hexlet.code.config.security.AuthenticatedUser;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -24,7 +25,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     }
 
     private UserDetails buildSpringUser(final User user) {
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
                 DEFAULT_AUTHORITIES
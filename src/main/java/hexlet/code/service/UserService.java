@@ -1,15 +1,30 @@
 package hexlet.code.service;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import com.fasterxml.jackson.databind.JsonNode;
+import hexlet.code.component.JsonMergePatcher;
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.config.security.AuthenticatedUser;
 import hexlet.code.dto.UserDto;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import static hexlet.code.component.ResourceVersions.checkVersion;
+import static hexlet.code.config.CacheConfig.USERS;
+
 
 @Service
 @Transactional
@@ -18,43 +33,109 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ResourceVersions resourceVersions;
+    private final JsonMergePatcher jsonMergePatcher;
+    private final CacheManager cacheManager;
 
+    @Transactional(readOnly = true)
     public User getUserById(final long id) {
         return userRepository.findById(id).orElseThrow();
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<User> getUsers(final Set<String> fields) {
+        return userRepository.findAllFields(fields);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Long> getUserVersion(final long id) {
+        return userRepository.findVersionById(id);
+    }
+
     public User createUser(final UserDto userDto) {
         User user = new User();
         user.setFirstName(userDto.getFirstName());
         user.setLastName(userDto.getLastName());
         user.setEmail(userDto.getEmail());
         user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        resourceVersions.increment(Resource.USERS);
         return userRepository.save(user);
     }
 
+    @CacheEvict(cacheNames = USERS, key = "#id")
     public User updateUser(final long id, final UserDto userDto) {
         User user = userRepository.findById(id).orElseThrow();
         user.setFirstName(userDto.getFirstName());
         user.setLastName(userDto.getLastName());
         user.setEmail(userDto.getEmail());
         user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        resourceVersions.increment(Resource.USERS);
+        return userRepository.save(user);
+    }
+
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User patchUser(final long id, final JsonNode patch, final Long expectedVersion) {
+        User user = userRepository.findById(id).orElseThrow();
+        checkVersion(User.class, id, user.getVersion(), expectedVersion);
+        final UserDto userDto = jsonMergePatcher.apply(
+                new UserDto(user.getEmail(), user.getFirstName(), user.getLastName(), null), patch);
+        user.setFirstName(userDto.getFirstName());
+        user.setLastName(userDto.getLastName());
+        user.setEmail(userDto.getEmail());
+        if (userDto.getPassword() != null) {
+            user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        }
+        resourceVersions.increment(Resource.USERS);
         return userRepository.save(user);
     }
 
+    @CacheEvict(cacheNames = USERS, key = "#id")
     public void deleteUser(final long id) {
         User user = userRepository.findById(id).orElseThrow();
         userRepository.delete(user);
+        resourceVersions.increment(Resource.USERS);
     }
 
     public String getCurrentUserName() {
         return SecurityContextHolder.getContext().getAuthentication().getName();
     }
 
+    // the author of every task write, a token of a user that no longer exists is no longer valid
     public User getCurrentUser() {
-        return userRepository.findByEmail(getCurrentUserName()).orElseThrow();
+        final Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (!(principal instanceof AuthenticatedUser authenticated) || authenticated.getId() == null) {
+            return userRepository.findByEmail(getCurrentUserName()).orElseThrow(this::unknownCurrentUser);
+        }
+        final Cache users = cacheManager.getCache(USERS);
+        final CurrentUser cached = users.get(authenticated.getId(), CurrentUser.class);
+        if (cached != null) {
+            return cached.toUser();
+        }
+        final User user = userRepository.findById(authenticated.getId()).orElseThrow(this::unknownCurrentUser);
+        users.put(user.getId(), CurrentUser.of(user));
+        return user;
+    }
+
+    private UsernameNotFoundException unknownCurrentUser() {
+        return new UsernameNotFoundException("Not found user with 'username': " + getCurrentUserName());
+    }
+
+    // shared by concurrent requests, so it keeps no password hash and every request gets its own User
+    private record CurrentUser(long id, String email, String firstName, String lastName,
+                               long createdAt, long updatedAt, long version) {
+
+        private static CurrentUser of(final User user) {
+            return new CurrentUser(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                    user.getCreatedAt().getTime(), user.getUpdatedAt().getTime(), user.getVersion());
+        }
+
+        private User toUser() {
+            return new User(id, email, firstName, lastName, null, new Date(createdAt), new Date(updatedAt), version);
+        }
     }
 }
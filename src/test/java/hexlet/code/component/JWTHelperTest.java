@@ -0,0 +1,63 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Clock;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JWTHelperTest {
+
+    private static final long CACHE_SIZE = 100L;
+
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+    private final Clock clock = () -> new Date(TimeUnit.NANOSECONDS.toMillis(nanos.get()));
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    void testVerifyReturnsSameClaimsForRepeatedToken() {
+        final JWTHelper jwtHelper = jwtHelper(60L, "secret");
+        final String token = jwtHelper.expiring(Map.of("username", "test@email.com"));
+
+        final Map<String, Object> first = jwtHelper.verify(token);
+        final Map<String, Object> second = jwtHelper.verify(token);
+
+        assertThat(first.get("username")).isEqualTo("test@email.com");
+        assertThat(second).isSameAs(first);
+        assertThatThrownBy(() -> first.put("username", "other@email.com"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void testVerifyRejectsTokenSignedWithOtherSecret() {
+        final JWTHelper jwtHelper = jwtHelper(60L, "secret");
+        final JWTHelper otherHelper = jwtHelper(60L, "other");
+        final String token = otherHelper.expiring(Map.of("username", "test@email.com"));
+        otherHelper.verify(token);
+
+        assertThatThrownBy(() -> jwtHelper.verify(token)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void testVerifyDoesNotServeExpiredTokenFromCache() {
+        final JWTHelper jwtHelper = jwtHelper(1L, "secret");
+        final String token = jwtHelper.expiring(Map.of("username", "test@email.com"));
+        jwtHelper.verify(token);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        assertThatThrownBy(() -> jwtHelper.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private JWTHelper jwtHelper(final long expirationSec, final String secret) {
+        return new JWTHelper("task-manager", expirationSec, 0L, secret, CACHE_SIZE, clock, ticker);
+    }
+}
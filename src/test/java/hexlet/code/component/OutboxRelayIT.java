@@ -0,0 +1,109 @@
+package hexlet.code.component;
+
+import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static hexlet.code.config.OutboxConfig.OUTBOX_FILE;
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.utils.TestUtils.ID;
+import static hexlet.code.utils.TestUtils.TASK_CONTROLLER_URL;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class)
+public class OutboxRelayIT {
+
+    @TempDir
+    private static Path directory;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @DynamicPropertySource
+    static void outboxFile(final DynamicPropertyRegistry registry) {
+        registry.add(OUTBOX_FILE, () -> directory.resolve("outbox.jsonl").toString());
+    }
+
+    @BeforeEach
+    public void before() throws Exception {
+        testUtils.addDefaultUser();
+        testUtils.addTaskStatus("First status");
+    }
+
+    @AfterEach
+    public void clear() {
+        testUtils.clearDB();
+    }
+
+    @Test
+    public void testCommittedTaskChangesAreRelayedToSink() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1", null, taskStatusId, userId, List.of()));
+        testUtils.addTask(new TaskDto("Task 2", null, taskStatusId + 1, userId, List.of()))
+                .andExpect(status().isNotFound());
+        final long taskId = taskRepository.findAll().get(0).getId();
+        testUtils.perform(delete(TASK_CONTROLLER_URL + ID, taskId), TEST_EMAIL).andExpect(status().isOk());
+
+        assertThat(pendingEvents()).isEqualTo(2);
+        assertThat(outboxRelay.relay()).isEqualTo(2);
+        assertThat(pendingEvents()).isZero();
+
+        final List<String> lines = Files.readAllLines(directory.resolve("outbox.jsonl"));
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"type\":\"CREATED\"", "\"name\":\"Task 1\"");
+        assertThat(lines.get(1)).contains("\"type\":\"DELETED\"", "\"aggregateId\":" + taskId);
+        assertThat(meterRegistry.get("outbox.relayed").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.lag").timer().count()).isEqualTo(2);
+    }
+
+    private long pendingEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_outbox", Long.class);
+    }
+}
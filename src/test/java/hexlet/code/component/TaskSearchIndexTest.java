@@ -0,0 +1,38 @@
+package hexlet.code.component;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TaskSearchIndexTest {
+
+    private static final String URL = "jdbc:h2:mem:search;DB_CLOSE_DELAY=-1";
+
+    @Test
+    public void testFailedRebuildKeepsPreviousIndex() {
+        final DataSource dataSource = new DriverManagerDataSource(URL);
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE task_descriptions (task_id BIGINT PRIMARY KEY, description CLOB)");
+        jdbcTemplate.update("INSERT INTO tasks VALUES (1, 'Fix login'), (2, 'Write docs')");
+        jdbcTemplate.update("INSERT INTO task_descriptions VALUES (1, 'Login form fails')");
+        final TaskSearchIndex taskSearchIndex =
+                new TaskSearchIndex(dataSource, new DataSourceTransactionManager(dataSource));
+        taskSearchIndex.rebuild();
+
+        jdbcTemplate.execute("DROP TABLE task_descriptions");
+        assertThatThrownBy(taskSearchIndex::rebuild).isInstanceOf(RuntimeException.class);
+        taskSearchIndex.put(3, "Login with tokens", null);
+
+        assertThat(taskSearchIndex.search("login", 0, 10).ids()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(taskSearchIndex.search("docs", 0, 10).ids()).isEqualTo(List.of(2L));
+        jdbcTemplate.execute("DROP TABLE tasks");
+    }
+}
@@ -0,0 +1,53 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.CountDto;
+import hexlet.code.dto.ReferenceDto;
+import hexlet.code.dto.TaskEventDto;
+import hexlet.code.dto.TaskEventDto.Type;
+import hexlet.code.dto.TaskStatsDto;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.dto.UserReferenceDto;
+import hexlet.code.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TaskStatisticsTest {
+
+    private static final long TASK_STATUS_ID = 1;
+    private static final long LABEL_ID = 7;
+
+    @Test
+    public void testReconcileKeepsChangesCommittedWhileCounting() {
+        final TaskRepository taskRepository = mock(TaskRepository.class);
+        final TaskStatistics taskStatistics =
+                new TaskStatistics(taskRepository, mock(PlatformTransactionManager.class));
+        when(taskRepository.countByTaskStatus()).thenAnswer(invocation -> {
+            taskStatistics.update(new TaskEventDto(Type.CREATED, 2, summary(2), null));
+            return List.of(new CountDto(TASK_STATUS_ID, 1L));
+        });
+        when(taskRepository.countByExecutor()).thenReturn(List.of(new CountDto(TaskStatistics.NO_EXECUTOR, 1L)));
+        when(taskRepository.countByLabel()).thenReturn(List.of(new CountDto(LABEL_ID, 1L)));
+
+        taskStatistics.reconcile();
+
+        final TaskStatsDto stats = taskStatistics.getStats();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getTaskStatuses()).isEqualTo(Map.of(TASK_STATUS_ID, 2L));
+        assertThat(stats.getExecutors()).isEqualTo(Map.of(TaskStatistics.NO_EXECUTOR, 2L));
+        assertThat(stats.getLabels()).isEqualTo(Map.of(LABEL_ID, 2L));
+    }
+
+    private static TaskSummaryDto summary(final long id) {
+        return new TaskSummaryDto(id, "Task " + id, new ReferenceDto(TASK_STATUS_ID, "New"),
+                new UserReferenceDto(1, "First", "Last"), null, new Date(),
+                List.of(new ReferenceDto(LABEL_ID, "Label")), null);
+    }
+}
@@ -0,0 +1,48 @@
+package hexlet.code.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static hexlet.code.config.DataSourceConfig.defaultPoolSize;
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.config.security.SecurityConfig.ACTUATOR;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class)
+public class DataSourceConfigIT {
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Test
+    public void testPoolIsSizedFromCoresAndWarmedUp() throws Exception {
+        assertThat(dataSource.getMaximumPoolSize())
+                .isEqualTo(defaultPoolSize(Runtime.getRuntime().availableProcessors()));
+        assertThat(dataSource.getHikariPoolMXBean().getTotalConnections())
+                .isGreaterThanOrEqualTo(dataSource.getMinimumIdle());
+
+        testUtils.perform(get(ACTUATOR + "/metrics/hikaricp.connections.acquire"))
+                .andExpect(status().isUnauthorized());
+        testUtils.perform(get(ACTUATOR + "/metrics/hikaricp.connections.acquire"), TEST_EMAIL)
+                .andExpect(status().isOk());
+        testUtils.perform(get(ACTUATOR + "/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,66 @@
+package hexlet.code.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:primary";
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica";
+    private static final String MISSING_REPLICA_URL = "jdbc:h2:mem:missing;IFEXISTS=TRUE";
+
+    @Test
+    public void testReadOnlyTransactionsGoToReplica() {
+        final DataSource dataSource = routingDataSource(REPLICA_URL, null);
+
+        assertThat(connectionUrl(dataSource, true)).isEqualTo(REPLICA_URL);
+        assertThat(connectionUrl(dataSource, false)).isEqualTo(PRIMARY_URL);
+        assertThat(new JdbcTemplate(dataSource).execute(urlCallback())).isEqualTo(PRIMARY_URL);
+    }
+
+    @Test
+    public void testReadsFallBackToPrimaryWhenReplicaIsDown() {
+        final DataSource dataSource = routingDataSource(MISSING_REPLICA_URL, null);
+
+        assertThat(connectionUrl(dataSource, true)).isEqualTo(PRIMARY_URL);
+    }
+
+    @Test
+    public void testReadsFallBackToPrimaryWhenReplicaLags() {
+        final DataSource dataSource = routingDataSource(REPLICA_URL, "SELECT 60");
+
+        assertThat(connectionUrl(dataSource, true)).isEqualTo(PRIMARY_URL);
+        assertThat(connectionUrl(dataSource, true)).isEqualTo(PRIMARY_URL);
+    }
+
+    private static DataSource routingDataSource(final String replicaUrl, final String lagQuery) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+                new DriverManagerDataSource(PRIMARY_URL),
+                new DriverManagerDataSource(replicaUrl),
+                Duration.ofSeconds(10),
+                lagQuery,
+                Duration.ofMinutes(1)
+        ));
+    }
+
+    private static String connectionUrl(final DataSource dataSource, final boolean readOnly) {
+        final TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource).execute(urlCallback()));
+    }
+
+    private static ConnectionCallback<String> urlCallback() {
+        return connection -> connection.getMetaData().getURL();
+    }
+}
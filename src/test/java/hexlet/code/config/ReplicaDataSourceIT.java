@@ -0,0 +1,133 @@
+package hexlet.code.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static hexlet.code.component.JsonMergePatcher.MERGE_PATCH_JSON_VALUE;
+import static hexlet.code.config.DataSourceConfig.REPLICA_DATA_SOURCE;
+import static hexlet.code.config.DataSourceConfig.REPLICA_MAXIMUM_POOL_SIZE;
+import static hexlet.code.config.DataSourceConfig.defaultPoolSize;
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.utils.TestUtils.ID;
+import static hexlet.code.utils.TestUtils.TASK_CONTROLLER_URL;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL;
+import static hexlet.code.utils.TestUtils.asJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the replica is the same in-memory database opened by a user that may only read
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:replicated;DB_CLOSE_DELAY=-1;"
+        + "INIT=CREATE USER IF NOT EXISTS READER PASSWORD 'reader'\\\\;GRANT SELECT ON SCHEMA PUBLIC TO READER",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.replica.url=jdbc:h2:mem:replicated",
+    "spring.datasource.replica.username=READER",
+    "spring.datasource.replica.password=reader",
+    REPLICA_MAXIMUM_POOL_SIZE + "=7"
+})
+public class ReplicaDataSourceIT {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier(REPLICA_DATA_SOURCE)
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    public void clear() {
+        testUtils.clearDB();
+    }
+
+    @Test
+    public void testReplicaPoolIsWarmedUpAndServesReads() {
+        assertThat(replicaDataSource.getHikariPoolMXBean().getTotalConnections()).isPositive();
+
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        final String reader = transactionTemplate.execute(status -> currentUser());
+        assertThat(reader).isEqualTo("READER");
+        assertThat(currentUser()).isEqualTo("SA");
+    }
+
+    @Test
+    public void testEachPoolKeepsItsOwnSize() {
+        assertThat(primaryDataSource.getMaximumPoolSize())
+                .isEqualTo(defaultPoolSize(Runtime.getRuntime().availableProcessors()));
+        assertThat(replicaDataSource.getMaximumPoolSize()).isEqualTo(7);
+    }
+
+    // the ownership check reads in its own read-only transaction before the write begins
+    @Test
+    public void testOwnerWritesAfterReadOnlyChecksGoToPrimary() throws Exception {
+        testUtils.addDefaultUser().andExpect(status().isCreated());
+        testUtils.addTaskStatus("First status").andExpect(status().isCreated());
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1", null, taskStatusId, userId, List.of()))
+                .andExpect(status().isCreated());
+        final long taskId = taskRepository.findAll().get(0).getId();
+
+        testUtils.perform(put(TASK_CONTROLLER_URL + ID, taskId)
+                        .content(asJson(new TaskDto("Task 2", null, taskStatusId, userId, List.of())))
+                        .contentType(APPLICATION_JSON), TEST_EMAIL)
+                .andExpect(status().isOk());
+        testUtils.perform(patch(TASK_CONTROLLER_URL + ID, taskId)
+                        .content("{\"name\":\"Task 3\"}")
+                        .contentType(MERGE_PATCH_JSON_VALUE), TEST_EMAIL)
+                .andExpect(status().isOk());
+        testUtils.perform(delete(TASK_CONTROLLER_URL + ID, taskId), TEST_EMAIL)
+                .andExpect(status().isOk());
+        assertThat(taskRepository.existsById(taskId)).isFalse();
+    }
+
+    private String currentUser() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_USER", String.class);
+    }
+}
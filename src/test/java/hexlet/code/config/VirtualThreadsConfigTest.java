@@ -0,0 +1,31 @@
+package hexlet.code.config;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadsConfigTest {
+
+    private final VirtualThreadsConfig config = new VirtualThreadsConfig();
+
+    @Test
+    public void testTomcatRunsRequestsOnVirtualThreads() throws Exception {
+        final Http11NioProtocol protocol = new Http11NioProtocol();
+        config.virtualThreadsProtocolHandlerCustomizer().customize(protocol);
+
+        assertThat(runsOnVirtualThread(protocol.getExecutor())).isTrue();
+    }
+
+    @Test
+    public void testApplicationTaskExecutorUsesVirtualThreads() throws Exception {
+        assertThat(runsOnVirtualThread(config.applicationTaskExecutor())).isTrue();
+    }
+
+    private static boolean runsOnVirtualThread(final Executor executor) throws Exception {
+        return CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor).get();
+    }
+}
@@ -28,10 +28,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -124,6 +129,40 @@ public class LabelControllerIT {
         assertThat(labels).hasSize(1);
     }
 
+    @Test
+    public void testGetLabelsNotModified() throws Exception {
+        testUtils.addLabel("First label");
+        final Label label = labelRepository.findAll().get(0);
+
+        final String labelsTag = testUtils.perform(get(LABEL_CONTROLLER_URL), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(header().string(CACHE_CONTROL, "no-cache, private"))
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        final String labelTag = testUtils.perform(get(LABEL_CONTROLLER_URL + ID, label.getId()), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        testUtils.perform(get(LABEL_CONTROLLER_URL).header(IF_NONE_MATCH, labelsTag), TEST_EMAIL)
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        testUtils.perform(get(LABEL_CONTROLLER_URL + ID, label.getId()).header(IF_NONE_MATCH, labelTag), TEST_EMAIL)
+                .andExpect(status().isNotModified());
+
+        final var updateRequest = put(LABEL_CONTROLLER_URL + ID, label.getId())
+                .content(asJson(new LabelDto("New label")))
+                .contentType(APPLICATION_JSON);
+        testUtils.perform(updateRequest, TEST_EMAIL).andExpect(status().isOk());
+
+        testUtils.perform(get(LABEL_CONTROLLER_URL).header(IF_NONE_MATCH, labelsTag), TEST_EMAIL)
+                .andExpect(status().isOk());
+        testUtils.perform(get(LABEL_CONTROLLER_URL + ID, label.getId()).header(IF_NONE_MATCH, labelTag), TEST_EMAIL)
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testUpdateLabel() throws Exception {
         testUtils.addLabel("First label");
@@ -1,15 +1,39 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import hexlet.code.component.JWTHelper;
+import hexlet.code.component.TaskEventBroadcaster;
+import hexlet.code.component.TaskStatistics;
 import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.TaskBatchResultDto;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskPageDto;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.dto.UserDto;
+import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskDescription;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskDescriptionRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.SqlRecorder;
 import hexlet.code.utils.TestUtils;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,23 +41,55 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static hexlet.code.component.JsonMergePatcher.MERGE_PATCH_JSON_VALUE;
+import static hexlet.code.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
 import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.config.CacheConfig.USERS;
+import static hexlet.code.controller.TaskController.BATCH;
+import static hexlet.code.controller.TaskController.EVENTS;
+import static hexlet.code.controller.TaskController.SEARCH;
+import static hexlet.code.controller.TaskController.STATS;
+import static hexlet.code.filter.JWTAuthenticationFilter.USER_ID_KEY;
 import static hexlet.code.utils.TestUtils.ID;
+import static hexlet.code.utils.TestUtils.LABEL_CONTROLLER_URL;
 import static hexlet.code.utils.TestUtils.TASK_CONTROLLER_URL;
 import static hexlet.code.utils.TestUtils.TEST_EMAIL;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL_2;
 import static hexlet.code.utils.TestUtils.asJson;
 import static hexlet.code.utils.TestUtils.fromJson;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.VARY;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -45,6 +101,9 @@ public class TaskControllerIT {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskDescriptionRepository taskDescriptionRepository;
+
     @Autowired
     private LabelRepository labelRepository;
 
@@ -57,6 +116,21 @@ public class TaskControllerIT {
     @Autowired
     private TestUtils testUtils;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private JWTHelper jwtHelper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     public void before() throws Exception {
         testUtils.addDefaultUser();
@@ -89,7 +163,104 @@ public class TaskControllerIT {
 
         final Task task = taskRepository.findAll().get(0);
         assertEquals("Task 1", task.getName());
-        assertEquals("Description 1", task.getDescription());
+        assertEquals("Description 1", descriptionOf(task));
+    }
+
+    @Test
+    public void testCreateTaskResolvesAuthorFromTokenId() throws Exception {
+        final User user = userRepository.findByEmail(TEST_EMAIL).orElseThrow();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final TaskDto taskDto = new TaskDto("Task 1", null, taskStatusId, 0, List.of());
+
+        for (int i = 0; i < 2; i++) {
+            testUtils.perform(post(TASK_CONTROLLER_URL)
+                            .header(AUTHORIZATION, tokenOf(user.getId()))
+                            .content(asJson(taskDto))
+                            .contentType(APPLICATION_JSON))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.author.email").value(TEST_EMAIL));
+        }
+        assertThat(taskRepository.findAll()).extracting(task -> task.getAuthor().getId())
+                .containsOnly(user.getId());
+        assertThat(cacheManager.getCache(USERS).get(user.getId()).get()).isNotInstanceOf(User.class);
+
+        testUtils.perform(post(TASK_CONTROLLER_URL)
+                        .header(AUTHORIZATION, tokenOf(user.getId() + 1000))
+                        .content(asJson(taskDto))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testCreateTasksBatch() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        final List<TaskDto> taskDtos = List.of(
+                new TaskDto("Task 1", null, taskStatusId, userId, List.of(labelId)),
+                new TaskDto("", null, taskStatusId, userId, null),
+                new TaskDto("Task 3", null, taskStatusId + 1, userId, null),
+                new TaskDto("Task 4", null, taskStatusId, 0, List.of(labelId, labelId + 1))
+        );
+
+        final var request = post(TASK_CONTROLLER_URL + BATCH).content(asJson(taskDtos)).contentType(APPLICATION_JSON);
+        final var response = testUtils.perform(request, TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final List<TaskBatchResultDto> results = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertThat(results).extracting(TaskBatchResultDto::getStatus).containsExactly(201, 422, 404, 201);
+        assertThat(results.get(1).getError()).contains("name");
+        assertEquals(2, taskRepository.count());
+
+        final Task task = taskRepository.findWithDescriptionById(results.get(3).getId()).orElseThrow();
+        assertEquals("Task 4", task.getName());
+        assertEquals(TEST_EMAIL, task.getAuthor().getEmail());
+        assertThat(task.getExecutor()).isNull();
+        assertThat(task.getLabels()).extracting(Label::getId).containsExactly(labelId);
+    }
+
+    @Test
+    public void testCreateTasksBatchWithoutCreatedTasks() throws Exception {
+        final String tasksTag = testUtils.perform(get(TASK_CONTROLLER_URL), TEST_EMAIL)
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        final var request = post(TASK_CONTROLLER_URL + BATCH).content("[null]").contentType(APPLICATION_JSON);
+        final var response = testUtils.perform(request, TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final List<TaskBatchResultDto> results = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertThat(results).extracting(TaskBatchResultDto::getStatus).containsExactly(400);
+        assertEquals(0, taskRepository.count());
+        testUtils.perform(get(TASK_CONTROLLER_URL).header(IF_NONE_MATCH, tasksTag), TEST_EMAIL)
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testCreateTasksBatchStatementCount() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        final List<TaskDto> taskDtos = IntStream.rangeClosed(1, 200)
+                .mapToObj(i -> new TaskDto("Task " + i, null, taskStatusId, userId, List.of(labelId)))
+                .toList();
+
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final var request = post(TASK_CONTROLLER_URL + BATCH).content(asJson(taskDtos)).contentType(APPLICATION_JSON);
+        testUtils.perform(request, TEST_EMAIL).andExpect(status().isOk());
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
     }
 
     @Test
@@ -120,7 +291,7 @@ public class TaskControllerIT {
 
         assertEquals(expectedTask.getId(), task.getId());
         assertEquals(expectedTask.getName(), task.getName());
-        assertEquals(expectedTask.getDescription(), task.getDescription());
+        assertEquals(taskDto.getDescription(), task.getDescription());
         assertEquals(expectedTask.getAuthor().getId(), task.getAuthor().getId());
     }
 
@@ -159,6 +330,41 @@ public class TaskControllerIT {
         assertThat(tasks).hasSize(1);
     }
 
+    @Test
+    public void testGetTasksNotModifiedUntilReferenceChanges() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1", "Description 1", taskStatusId, userId, List.of(labelId)));
+        final long taskId = taskRepository.findAll().get(0).getId();
+
+        final String tasksTag = testUtils.perform(get(TASK_CONTROLLER_URL), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        final String taskTag = testUtils.perform(get(TASK_CONTROLLER_URL + ID, taskId), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        testUtils.perform(get(TASK_CONTROLLER_URL).header(IF_NONE_MATCH, tasksTag), TEST_EMAIL)
+                .andExpect(status().isNotModified());
+        testUtils.perform(get(TASK_CONTROLLER_URL + ID, taskId).header(IF_NONE_MATCH, taskTag), TEST_EMAIL)
+                .andExpect(status().isNotModified());
+
+        final var renameLabel = put(LABEL_CONTROLLER_URL + ID, labelId)
+                .content(asJson(new LabelDto("Renamed label")))
+                .contentType(APPLICATION_JSON);
+        testUtils.perform(renameLabel, TEST_EMAIL).andExpect(status().isOk());
+
+        testUtils.perform(get(TASK_CONTROLLER_URL).header(IF_NONE_MATCH, tasksTag), TEST_EMAIL)
+                .andExpect(status().isOk());
+        testUtils.perform(get(TASK_CONTROLLER_URL + ID, taskId).header(IF_NONE_MATCH, taskTag), TEST_EMAIL)
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testGetAllTasksWithFilter() throws Exception {
         final long userId = userRepository.findAll().get(0).getId();
@@ -198,6 +404,158 @@ public class TaskControllerIT {
         assertThat(body).doesNotContain("Task 2 without label");
     }
 
+    @Test
+    public void testGetAllTasksReturnsSummaries() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1", "Description 1", taskStatusId, userId, List.of(labelId)));
+
+        final String body = testUtils.perform(get(TASK_CONTROLLER_URL), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final List<TaskSummaryDto> tasks = fromJson(body, new TypeReference<>() {
+        });
+
+        assertThat(tasks).hasSize(1);
+        assertThat(tasks.get(0).getTaskStatus().getName()).isEqualTo("First status");
+        assertThat(tasks.get(0).getAuthor().getFirstName()).isEqualTo("John");
+        assertThat(tasks.get(0).getExecutor().getId()).isEqualTo(userId);
+        assertThat(tasks.get(0).getLabels()).extracting("name").containsExactly("First label");
+        assertThat(body).doesNotContain(TEST_EMAIL, "Description 1");
+    }
+
+    @Test
+    public void testGetAllTasksStatementCount() throws Exception {
+        final User user = userRepository.findAll().get(0);
+        final TaskStatus taskStatus = taskStatusRepository.findAll().get(0);
+        final List<Label> labels = labelRepository.findAll();
+        taskRepository.saveAll(IntStream.rangeClosed(1, 1000)
+                .mapToObj(i -> {
+                    final Task task = new Task();
+                    task.setName("Task " + i);
+                    task.setTaskStatus(taskStatus);
+                    task.setAuthor(user);
+                    task.setExecutor(user);
+                    task.setLabels(new HashSet<>(labels));
+                    return task;
+                })
+                .toList());
+
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final var response = testUtils.perform(get(TASK_CONTROLLER_URL), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final List<Task> tasks = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertThat(tasks).hasSize(1000);
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getLabels()).hasSize(1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testGetTaskByIdStatementCount() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1", "Description 1", taskStatusId, userId, List.of(labelId)));
+        final long taskId = taskRepository.findAll().get(0).getId();
+
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testUtils.perform(get(TASK_CONTROLLER_URL + ID, taskId), TEST_EMAIL)
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetTasksPage() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        for (int i = 1; i <= 3; i++) {
+            testUtils.addTask(new TaskDto("Task " + i, "Description " + i, taskStatusId, userId, List.of()));
+        }
+
+        final var firstResponse = testUtils.perform(
+                get(TASK_CONTROLLER_URL + "/page").queryParam("size", "2"), TEST_EMAIL
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final TaskPageDto firstPage = fromJson(firstResponse.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertThat(firstPage.getContent()).extracting(TaskSummaryDto::getName).containsExactly("Task 1", "Task 2");
+        assertThat(firstPage.getNext()).isNotNull();
+
+        final var secondResponse = testUtils.perform(
+                get(TASK_CONTROLLER_URL + "/page")
+                        .queryParam("size", "2")
+                        .queryParam("cursor", firstPage.getNext()), TEST_EMAIL
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final TaskPageDto secondPage = fromJson(secondResponse.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertThat(secondPage.getContent()).extracting(TaskSummaryDto::getName).containsExactly("Task 3");
+        assertThat(secondPage.getNext()).isNull();
+    }
+
+    @Test
+    public void testGetTasksPageMalformedCursor() throws Exception {
+        testUtils.perform(get(TASK_CONTROLLER_URL + "/page").queryParam("cursor", "not a cursor"), TEST_EMAIL)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testStreamAllTasksWithFilter() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1 with label", "Description 1", taskStatusId, userId, List.of(labelId)));
+        testUtils.addTask(new TaskDto("Task 2 without label", "Description 2", taskStatusId, userId, List.of()));
+
+        final var response = testUtils.perform(
+                get(TASK_CONTROLLER_URL + "/stream")
+                        .queryParam("labelsId", ((Long) labelId).toString()), TEST_EMAIL
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final List<Task> tasks = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertThat(tasks).extracting(Task::getName).containsExactly("Task 1 with label");
+        assertThat(tasks.get(0).getLabels()).hasSize(1);
+
+        final var cborResponse = testUtils.perform(get(TASK_CONTROLLER_URL + "/stream").accept(APPLICATION_CBOR),
+                        TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThat(cborResponse.getContentType()).isEqualTo(APPLICATION_CBOR_VALUE);
+        final List<Map<String, Object>> cborTasks = new CBORMapper().readValue(cborResponse.getContentAsByteArray(),
+                new TypeReference<>() {
+                });
+        assertThat(cborTasks).extracting(task -> task.get("name"))
+                .containsExactlyInAnyOrder("Task 1 with label", "Task 2 without label");
+    }
+
     @Test
     public void testUpdateTask() throws Exception {
         final long userId = userRepository.findAll().get(0).getId();
@@ -230,7 +588,301 @@ public class TaskControllerIT {
         task = taskRepository.findAll().get(0);
         assertTrue(taskRepository.existsById(task.getId()));
         assertThat(task.getName()).isEqualTo("Updated task 1");
-        assertThat(task.getDescription()).isEqualTo("Updated description 1");
+        assertThat(descriptionOf(task)).isEqualTo("Updated description 1");
+    }
+
+    @Test
+    public void testPatchTaskWithIfMatch() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1", "Description 1", taskStatusId, userId, List.of(labelId)));
+        final long taskId = taskRepository.findAll().get(0).getId();
+
+        final String tag = testUtils.perform(get(TASK_CONTROLLER_URL + ID, taskId), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        final var patchRequest = patch(TASK_CONTROLLER_URL + ID, taskId)
+                .header(IF_MATCH, tag)
+                .content("{\"name\": \"Patched task 1\"}")
+                .contentType(MERGE_PATCH_JSON_VALUE);
+        testUtils.perform(patchRequest, TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        final Task task = taskRepository.findWithDescriptionById(taskId).orElseThrow();
+        assertThat(task.getName()).isEqualTo("Patched task 1");
+        assertThat(descriptionOf(task)).isEqualTo("Description 1");
+        assertThat(task.getLabels()).extracting(Label::getId).containsExactly(labelId);
+
+        testUtils.perform(patchRequest, TEST_EMAIL).andExpect(status().isPreconditionFailed());
+        final TaskDto taskDto = new TaskDto("Updated task 1", null, taskStatusId, userId, List.of());
+        testUtils.perform(put(TASK_CONTROLLER_URL + ID, taskId)
+                        .header(IF_MATCH, tag)
+                        .content(asJson(taskDto))
+                        .contentType(APPLICATION_JSON), TEST_EMAIL)
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskRepository.findById(taskId).orElseThrow().getName()).isEqualTo("Patched task 1");
+    }
+
+    @Test
+    public void testPatchTaskUpdatesOnlyChangedColumns() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        testUtils.addLabel("Second label");
+        final List<Long> labelIds = labelRepository.findAll().stream().map(Label::getId).toList();
+        testUtils.addTask(new TaskDto("Task 1", "Description 1", taskStatusId, userId, List.of(labelIds.get(0))));
+        final long taskId = taskRepository.findAll().get(0).getId();
+
+        SqlRecorder.start();
+        testUtils.perform(patch(TASK_CONTROLLER_URL + ID, taskId)
+                        .content("{\"name\": \"Patched task 1\"}")
+                        .contentType(MERGE_PATCH_JSON_VALUE), TEST_EMAIL)
+                .andExpect(status().isOk());
+        assertThat(SqlRecorder.stop())
+                .filteredOn(sql -> !sql.startsWith("select"))
+                .containsExactly("update tasks set name=?,updated_at=?,version=? where id=? and version=?");
+
+        SqlRecorder.start();
+        testUtils.perform(patch(TASK_CONTROLLER_URL + ID, taskId)
+                        .content(asJson(Map.of("labelIds", labelIds)))
+                        .contentType(MERGE_PATCH_JSON_VALUE), TEST_EMAIL)
+                .andExpect(status().isOk());
+        assertThat(SqlRecorder.stop())
+                .filteredOn(sql -> !sql.startsWith("select"))
+                .containsExactly("update tasks set updated_at=?,version=? where id=? and version=?",
+                        "insert into tasks_labels (label_id,task_id) values (?,?)");
+
+        testUtils.perform(patch(TASK_CONTROLLER_URL + ID, taskId)
+                        .content("{\"name\": \"\"}")
+                        .contentType(MERGE_PATCH_JSON_VALUE), TEST_EMAIL)
+                .andExpect(status().isUnprocessableEntity());
+        testUtils.perform(patch(TASK_CONTROLLER_URL + ID, taskId)
+                        .content("{\"name\": \"Patched task 2\", \"foo\": 1}")
+                        .contentType(MERGE_PATCH_JSON_VALUE), TEST_EMAIL)
+                .andExpect(status().isBadRequest());
+        final Task task = taskRepository.findWithDescriptionById(taskId).orElseThrow();
+        assertThat(task.getName()).isEqualTo("Patched task 1");
+        assertThat(task.getLabels()).extracting(Label::getId).containsExactlyElementsOf(labelIds);
+    }
+
+    @Test
+    public void testTaskEventsStreamMatchingChangesAfterCommit() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        testUtils.addTaskStatus("Second status");
+        final List<TaskStatus> taskStatuses = taskStatusRepository.findAll();
+        final MvcResult events = testUtils.perform(get(TASK_CONTROLLER_URL + EVENTS)
+                        .queryParam("taskStatus", String.valueOf(taskStatuses.get(0).getId())), TEST_EMAIL)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        testUtils.addTask(new TaskDto("Task 1", null, taskStatuses.get(0).getId(), userId, List.of()));
+        testUtils.addTask(new TaskDto("Task 2", null, taskStatuses.get(1).getId(), userId, List.of()));
+        final long taskId = taskRepository.findAll().stream()
+                .filter(task -> task.getName().equals("Task 1"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        testUtils.perform(delete(TASK_CONTROLLER_URL + ID, taskId), TEST_EMAIL).andExpect(status().isOk());
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!events.getResponse().getContentAsString().contains("event:deleted")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(events.getResponse().getContentAsString())
+                .contains("event:created", "\"name\":\"Task 1\"", "event:deleted", "\"id\":" + taskId)
+                .doesNotContain("Task 2");
+
+        events.getRequest().getAsyncContext().complete();
+        assertThat(taskEventBroadcaster.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    public void testSearchTasksRanksNameMatchesFirst() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Write docs", "Mention the login flow", taskStatusId, userId, List.of()));
+        testUtils.addTask(new TaskDto("Fix login bug", "Users cannot LOGIN.", taskStatusId, userId, List.of()));
+        testUtils.addTask(new TaskDto("Login page redesign", null, taskStatusId, userId, List.of()));
+
+        final var firstPage = get(TASK_CONTROLLER_URL + SEARCH).queryParam("q", "Login").queryParam("size", "2");
+        testUtils.perform(firstPage, TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.content[*].name").value(contains("Fix login bug", "Login page redesign")));
+        testUtils.perform(get(TASK_CONTROLLER_URL + SEARCH).queryParam("q", "login bug"), TEST_EMAIL)
+                .andExpect(jsonPath("$.content[*].name").value(contains("Fix login bug")));
+
+        final long taskId = taskRepository.findAll().stream()
+                .filter(task -> task.getName().equals("Fix login bug"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        testUtils.perform(delete(TASK_CONTROLLER_URL + ID, taskId), TEST_EMAIL).andExpect(status().isOk());
+        testUtils.perform(get(TASK_CONTROLLER_URL + SEARCH).queryParam("q", "login").queryParam("page", "1")
+                        .queryParam("size", "1"), TEST_EMAIL)
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.content[*].name").value(contains("Write docs")));
+    }
+
+    @Test
+    public void testGetAllTasksWithFieldsSelectsOnlyThoseColumns() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1", "Description 1", taskStatusId, userId, List.of(labelId)));
+
+        SqlRecorder.start();
+        final var response = testUtils.perform(get(TASK_CONTROLLER_URL)
+                        .queryParam("fields", "id,name,taskStatus"), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThat(SqlRecorder.stop())
+                .filteredOn(sql -> sql.contains(" from tasks "))
+                .singleElement()
+                .satisfies(sql -> assertThat(sql).contains("task_statuses")
+                        .doesNotContain("users", "labels", "task_descriptions"));
+
+        final List<Map<String, Object>> tasks = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertThat(tasks).singleElement()
+                .satisfies(task -> assertThat(task).containsOnlyKeys("id", "name", "taskStatus"))
+                .satisfies(task -> assertThat(task.get("taskStatus")).isEqualTo(
+                        Map.of("id", (int) taskStatusId, "name", "First status")));
+
+        final var descriptions = testUtils.perform(get(TASK_CONTROLLER_URL)
+                        .queryParam("fields", "id,description"), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThat(fromJson(descriptions.getContentAsString(), new TypeReference<List<Map<String, Object>>>() {
+        })).singleElement().satisfies(task -> assertThat(task).containsOnlyKeys("id", "description")
+                .containsEntry("description", "Description 1"));
+
+        testUtils.perform(get(TASK_CONTROLLER_URL).queryParam("fields", "id,body"), TEST_EMAIL)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAllTasksAsCompressedCbor() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        for (int i = 1; i <= 30; i++) {
+            testUtils.addTask(new TaskDto("Task " + i, "Description " + i, taskStatusId, userId, List.of()));
+        }
+
+        final var response = testUtils.perform(get(TASK_CONTROLLER_URL)
+                        .accept(APPLICATION_CBOR)
+                        .header(ACCEPT_ENCODING, "gzip, deflate"), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(header().string(CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(VARY, hasItems(ACCEPT, ACCEPT_ENCODING)))
+                .andExpect(header().string(ETAG, startsWith("W/\"")))
+                .andExpect(header().string(ETAG, endsWith("-cbor\"")))
+                .andReturn()
+                .getResponse();
+        assertThat(response.getContentType()).isEqualTo(APPLICATION_CBOR_VALUE);
+        testUtils.perform(get(TASK_CONTROLLER_URL)
+                        .accept(APPLICATION_CBOR)
+                        .header(ACCEPT_ENCODING, "gzip")
+                        .header(IF_NONE_MATCH, response.getHeader(ETAG)), TEST_EMAIL)
+                .andExpect(status().isNotModified());
+        testUtils.perform(get(TASK_CONTROLLER_URL).header(IF_NONE_MATCH, response.getHeader(ETAG)), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, endsWith("-json\"")));
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            final List<Map<String, Object>> tasks = new CBORMapper().readValue(body, new TypeReference<>() {
+            });
+            assertThat(tasks).hasSize(30).extracting(task -> task.get("name")).contains("Task 1", "Task 30");
+        }
+
+        final var smallResponse = testUtils.perform(get(TASK_CONTROLLER_URL)
+                        .queryParam("fields", "id")
+                        .accept(APPLICATION_SMILE_VALUE)
+                        .header(ACCEPT_ENCODING, "gzip"), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CONTENT_ENCODING))
+                .andReturn()
+                .getResponse();
+        assertThat(smallResponse.getContentType()).isEqualTo(APPLICATION_SMILE_VALUE);
+        final List<Map<String, Object>> ids = new SmileMapper().readValue(smallResponse.getContentAsByteArray(),
+                new TypeReference<>() {
+                });
+        assertThat(ids).hasSize(30).allSatisfy(task -> assertThat(task).containsOnlyKeys("id"));
+    }
+
+    @Test
+    public void testTaskStatsFollowChangesAndMatchDatabase() throws Exception {
+        taskStatistics.reconcile();
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        testUtils.addTask(new TaskDto("Task 1", null, taskStatusId, userId, List.of(labelId)));
+        testUtils.addTask(new TaskDto("Task 2", null, taskStatusId, 0, List.of()));
+
+        testUtils.perform(get(TASK_CONTROLLER_URL + STATS), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.taskStatuses." + taskStatusId).value(2))
+                .andExpect(jsonPath("$.executors." + userId).value(1))
+                .andExpect(jsonPath("$.executors.0").value(1))
+                .andExpect(jsonPath("$.labels." + labelId).value(1));
+
+        final Task first = taskRepository.findAll().stream()
+                .filter(task -> task.getName().equals("Task 1"))
+                .findFirst()
+                .orElseThrow();
+        testUtils.perform(put(TASK_CONTROLLER_URL + ID, first.getId())
+                        .content(asJson(new TaskDto("Task 1", null, taskStatusId, 0, List.of())))
+                        .contentType(APPLICATION_JSON), TEST_EMAIL)
+                .andExpect(status().isOk());
+        final long secondId = taskRepository.findAll().stream()
+                .filter(task -> task.getName().equals("Task 2"))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        testUtils.perform(delete(TASK_CONTROLLER_URL + ID, secondId), TEST_EMAIL).andExpect(status().isOk());
+
+        final String counted = testUtils.perform(get(TASK_CONTROLLER_URL + STATS), TEST_EMAIL)
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.executors.0").value(1))
+                .andExpect(jsonPath("$.labels").isEmpty())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        taskStatistics.reconcile();
+        final String reconciled = testUtils.perform(get(TASK_CONTROLLER_URL + STATS), TEST_EMAIL)
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertEquals(reconciled, counted);
+    }
+
+    @Test
+    public void testUpdateTaskByNotAuthorForbidden() throws Exception {
+        final long userId = userRepository.findAll().get(0).getId();
+        final long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        final TaskDto taskDto = new TaskDto("Task 1", "Description 1", taskStatusId, userId, List.of());
+        testUtils.addTask(taskDto);
+        testUtils.addUser(new UserDto(TEST_EMAIL_2, "Arya", "Stark", "NotToday"));
+
+        final long taskId = taskRepository.findAll().get(0).getId();
+        final TaskDto newTaskDto = new TaskDto("Updated task 1", "Description 1", taskStatusId, userId, List.of());
+
+        testUtils.perform(put(TASK_CONTROLLER_URL + ID, taskId)
+                        .content(asJson(newTaskDto))
+                        .contentType(APPLICATION_JSON), TEST_EMAIL_2)
+                .andExpect(status().isForbidden());
+        testUtils.perform(delete(TASK_CONTROLLER_URL + ID, taskId), TEST_EMAIL_2)
+                .andExpect(status().isForbidden());
+
+        assertThat(taskRepository.findAll().get(0).getName()).isEqualTo("Task 1");
     }
 
     @Test
@@ -265,9 +917,9 @@ public class TaskControllerIT {
         final Task task = taskRepository.findAll().get(0);
         assertTrue(taskRepository.existsById(task.getId()));
         assertThat(task.getName()).isNotEqualTo("Updated task 1");
-        assertThat(task.getDescription()).isNotEqualTo("Updated description 1");
+        assertThat(descriptionOf(task)).isNotEqualTo("Updated description 1");
         assertThat(task.getName()).isEqualTo("Task 1");
-        assertThat(task.getDescription()).isEqualTo("Description 1");
+        assertThat(descriptionOf(task)).isEqualTo("Description 1");
     }
 
     @Test
@@ -302,9 +954,9 @@ public class TaskControllerIT {
         task = taskRepository.findAll().get(0);
         assertTrue(taskRepository.existsById(task.getId()));
         assertThat(task.getName()).isNotEqualTo("Updated task 1");
-        assertThat(task.getDescription()).isNotEqualTo("Updated description 1");
+        assertThat(descriptionOf(task)).isNotEqualTo("Updated description 1");
         assertThat(task.getName()).isEqualTo("Task 1");
-        assertThat(task.getDescription()).isEqualTo("Description 1");
+        assertThat(descriptionOf(task)).isEqualTo("Description 1");
     }
 
     @Test
@@ -352,4 +1004,14 @@ public class TaskControllerIT {
 
         assertEquals(1, taskRepository.count());
     }
+
+    private String tokenOf(final long userId) {
+        return jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, TEST_EMAIL, USER_ID_KEY, userId));
+    }
+
+    private String descriptionOf(final Task task) {
+        return taskDescriptionRepository.findById(task.getId())
+                .map(TaskDescription::getDescription)
+                .orElse(null);
+    }
 }
@@ -6,7 +6,10 @@ import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.utils.TestUtils;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +36,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -47,6 +51,9 @@ public class TaskStatusControllerIT {
     @Autowired
     private TestUtils testUtils;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     public void before() throws Exception {
         testUtils.addDefaultUser();
@@ -126,6 +133,36 @@ public class TaskStatusControllerIT {
         assertThat(taskStatuses).hasSize(1);
     }
 
+    @Test
+    public void testGetAllTaskStatusesFromCache() throws Exception {
+        testUtils.addTaskStatus("First status");
+        final long id = taskStatusRepository.findAll().get(0).getId();
+        testUtils.perform(get(TASK_STATUS_CONTROLLER_URL), TEST_EMAIL).andExpect(status().isOk());
+
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testUtils.perform(get(TASK_STATUS_CONTROLLER_URL), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("First status"));
+        testUtils.perform(get(TASK_STATUS_CONTROLLER_URL + ID, id), TEST_EMAIL)
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        testUtils.perform(put(TASK_STATUS_CONTROLLER_URL + ID, id)
+                        .content(asJson(new TaskStatusDto("New status")))
+                        .contentType(APPLICATION_JSON), TEST_EMAIL)
+                .andExpect(status().isOk());
+
+        testUtils.perform(get(TASK_STATUS_CONTROLLER_URL), TEST_EMAIL)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("New status"));
+        testUtils.perform(get("/actuator/metrics/cache.gets")
+                        .queryParam("tag", "name:taskStatuses", "result:hit"), TEST_EMAIL)
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testUpdateTaskStatus() throws Exception {
         testUtils.addTaskStatus("First status");
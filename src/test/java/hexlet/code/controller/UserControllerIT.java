@@ -1,6 +1,7 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.component.JWTHelper;
 import hexlet.code.config.SpringConfigForIT;
 import hexlet.code.dto.LoginDto;
 import hexlet.code.dto.UserDto;
@@ -8,6 +9,7 @@ import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.utils.TestUtils;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +19,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import static hexlet.code.filter.JWTAuthenticationFilter.USER_ID_KEY;
 import static hexlet.code.utils.TestUtils.ID;
 import static hexlet.code.utils.TestUtils.LOGIN_URL;
 import static hexlet.code.utils.TestUtils.TEST_EMAIL;
@@ -52,6 +55,9 @@ public class UserControllerIT {
     @Autowired
     private TestUtils testUtils;
 
+    @Autowired
+    private JWTHelper jwtHelper;
+
     @AfterEach
     public void clear() {
         testUtils.clearDB();
@@ -118,6 +124,24 @@ public class UserControllerIT {
         assertThat(users).hasSize(1);
     }
 
+    @Test
+    public void testGetAllUsersWithFields() throws Exception {
+        testUtils.addDefaultUser();
+        final var response = testUtils.perform(get(USER_CONTROLLER_URL).queryParam("fields", "id,firstName"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final List<Map<String, Object>> users = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertThat(users).hasSize(1);
+        assertThat(users.get(0)).containsOnlyKeys("id", "firstName");
+        assertEquals(testUtils.getTestUserDto().getFirstName(), users.get(0).get("firstName"));
+        testUtils.perform(get(USER_CONTROLLER_URL).queryParam("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testUpdateUser() throws Exception {
         testUtils.addDefaultUser();
@@ -206,7 +230,16 @@ public class UserControllerIT {
                 testUtils.getTestUserDto().getPassword()
         );
         final var loginRequest = post(LOGIN_URL).content(asJson(loginDto)).contentType(APPLICATION_JSON);
-        testUtils.perform(loginRequest).andExpect(status().isOk());
+        final String token = testUtils.perform(loginRequest)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .trim();
+
+        final User expectedUser = userRepository.findByEmail(TEST_EMAIL).orElseThrow();
+        final Number userId = (Number) jwtHelper.verify(token).get(USER_ID_KEY);
+        assertEquals(expectedUser.getId(), userId.longValue());
     }
 
     @Test
@@ -0,0 +1,44 @@
+package hexlet.code.filter;
+
+import hexlet.code.config.CompressionProperties;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+
+public class CompressionFilterTest {
+
+    @Test
+    public void testNonBlockingWritesGoStraightToTheResponse() throws Exception {
+        final ServletOutputStream outputStream = mock(ServletOutputStream.class);
+        when(outputStream.isReady()).thenReturn(false);
+        final MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return outputStream;
+            }
+        };
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(ACCEPT_ENCODING, "gzip");
+        request.setAsyncSupported(true);
+        final WriteListener writeListener = mock(WriteListener.class);
+
+        new CompressionFilter(new CompressionProperties()).doFilter(request, response, (req, res) -> {
+            req.startAsync();
+            final ServletOutputStream stream = res.getOutputStream();
+            stream.setWriteListener(writeListener);
+            assertThat(stream.isReady()).isFalse();
+        });
+
+        verify(outputStream).setWriteListener(writeListener);
+        assertThat(response.getHeader(CONTENT_ENCODING)).isNull();
+    }
+}
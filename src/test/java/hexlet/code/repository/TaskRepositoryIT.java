@@ -0,0 +1,157 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.TaskSummaryDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.QTask;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.utils.SqlRecorder;
+import hexlet.code.utils.TestUtils;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class)
+public class TaskRepositoryIT {
+
+    private static final QTask TASK = QTask.task;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long taskStatusId;
+    private long userId;
+    private long labelId;
+
+    @BeforeEach
+    public void before() {
+        final List<User> users = userRepository.saveAll(IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new User(0, "user" + i + "@mail.com", "First", "Last", "password", null, null, 0))
+                .toList());
+        final List<TaskStatus> taskStatuses = taskStatusRepository.saveAll(IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new TaskStatus(0, "Status " + i, null, null, 0))
+                .toList());
+        final List<Label> labels = labelRepository.saveAll(IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> {
+                    final Label label = new Label();
+                    label.setName("Label " + i);
+                    return label;
+                })
+                .toList());
+        taskRepository.saveAll(IntStream.range(0, 2000)
+                .mapToObj(i -> {
+                    final Task task = new Task();
+                    task.setName("Task " + i);
+                    task.setTaskStatus(taskStatuses.get(i % taskStatuses.size()));
+                    task.setAuthor(users.get(i % users.size()));
+                    task.setExecutor(users.get(i / 200));
+                    task.setLabels(Set.of(labels.get(i % labels.size())));
+                    return task;
+                })
+                .toList());
+        jdbcTemplate.execute("ANALYZE");
+        taskStatusId = taskStatuses.get(0).getId();
+        userId = users.get(0).getId();
+        labelId = labels.get(0).getId();
+    }
+
+    @AfterEach
+    public void clear() {
+        testUtils.clearDB();
+    }
+
+    // The plans come from H2, which also indexes every foreign key on its own. So these tests catch a listing
+    // query that stops using an index, but not a missing foreign key index that only PostgreSQL would scan for.
+    // The build has no PostgreSQL to run them against, check the migrations there with EXPLAIN by hand.
+    @Test
+    public void testFiltersUseIndexes() {
+        assertThat(explainPage(TASK.taskStatus.id.eq(taskStatusId), taskStatusId))
+                .doesNotContain("TASKS.tableScan");
+        assertThat(explainPage(TASK.executor.id.eq(userId), userId))
+                .doesNotContain("TASKS.tableScan");
+        assertThat(explainPage(TASK.author.id.eq(userId), userId))
+                .doesNotContain("TASKS.tableScan");
+        assertThat(explainPage(TASK.taskStatus.id.eq(taskStatusId).and(TASK.executor.id.eq(userId)), userId))
+                .doesNotContain("TASKS.tableScan")
+                .contains("IDX_TASKS_TASK_STATUS_ID_EXECUTOR_ID");
+    }
+
+    @Test
+    public void testTasksLabelsUseIndexesInBothDirections() {
+        SqlRecorder.start();
+        final List<TaskSummaryDto> tasks = taskRepository.findSummaries(TASK.labels.any().id.eq(labelId));
+        final List<String> statements = SqlRecorder.stop();
+        assertThat(tasks).isNotEmpty();
+
+        // the filter looks tasks up by label, then the labels of the page are read by task,
+        // the mapping keeps the label in task_id and the task in label_id
+        assertThat(explain(listingStatement(statements), labelId))
+                .doesNotContain("TASKS.tableScan", "TASKS_LABELS.tableScan");
+        assertThat(explain(labelsStatement(statements), tasks.get(0).getId()))
+                .doesNotContain("TASKS_LABELS.tableScan");
+    }
+
+    private String explainPage(final Predicate predicate, final long parameter) {
+        SqlRecorder.start();
+        taskRepository.findSummariesAfter(predicate, 0, PAGE_SIZE);
+        return explain(listingStatement(SqlRecorder.stop()), parameter);
+    }
+
+    private static String listingStatement(final List<String> statements) {
+        return statements.stream()
+                .filter(sql -> sql.contains(" from tasks ") && !sql.contains(" in ("))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String labelsStatement(final List<String> statements) {
+        return statements.stream()
+                .filter(sql -> sql.contains("tasks_labels") && sql.contains(" in ("))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // every parameter gets the same value, the plan only depends on which columns are compared
+    private String explain(final String sql, final long parameter) {
+        final Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        Arrays.fill(parameters, parameter);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
@@ -10,12 +10,16 @@ import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.dto.UserDto;
 import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskDescriptionRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
 
 import java.util.Map;
+import java.util.Objects;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -66,17 +70,29 @@ public class TestUtils {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskDescriptionRepository taskDescriptionRepository;
+
     @Autowired
     private LabelRepository labelRepository;
 
     @Autowired
     private JWTHelper jwtHelper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     public void clearDB() {
+        taskDescriptionRepository.deleteAll();
         taskRepository.deleteAll();
         taskStatusRepository.deleteAll();
         labelRepository.deleteAll();
         userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM task_outbox");
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
     }
 
     public User getUserByEmail(final String email) {